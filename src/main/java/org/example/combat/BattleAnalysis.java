@@ -0,0 +1,49 @@
+package org.example.combat;
+
+import org.example.model.UnitType;
+
+// Exact expected outcome of a classic battle, from CombatManager.analyze.
+// A classic battle is a two-branch mixture: one weighted roll decides the
+// winner and the losses of each branch are fixed, so means and variances
+// follow directly from the win probability.
+public class BattleAnalysis {
+    private final double winProbability;           // Player's chance to win (attack or defense)
+    private final double expectedPlayerLosses;
+    private final double playerLossVariance;
+    private final double expectedEnemyLosses;
+    private final double enemyLossVariance;
+    private final double[] expectedPlayerLossesByType;  // Indexed by UnitType ordinal
+    private final double[] expectedEnemyLossesByType;
+    private final double expectedStone;
+    private final double expectedWood;
+    private final double expectedGold;
+
+    BattleAnalysis(double winProbability,
+                   double expectedPlayerLosses, double playerLossVariance,
+                   double expectedEnemyLosses, double enemyLossVariance,
+                   double[] expectedPlayerLossesByType, double[] expectedEnemyLossesByType,
+                   double expectedStone, double expectedWood, double expectedGold) {
+        this.winProbability = winProbability;
+        this.expectedPlayerLosses = expectedPlayerLosses;
+        this.playerLossVariance = playerLossVariance;
+        this.expectedEnemyLosses = expectedEnemyLosses;
+        this.enemyLossVariance = enemyLossVariance;
+        this.expectedPlayerLossesByType = expectedPlayerLossesByType;
+        this.expectedEnemyLossesByType = expectedEnemyLossesByType;
+        this.expectedStone = expectedStone;
+        this.expectedWood = expectedWood;
+        this.expectedGold = expectedGold;
+    }
+
+    // Getters
+    public double getWinProbability() { return winProbability; }
+    public double getExpectedPlayerLosses() { return expectedPlayerLosses; }
+    public double getPlayerLossVariance() { return playerLossVariance; }
+    public double getExpectedEnemyLosses() { return expectedEnemyLosses; }
+    public double getEnemyLossVariance() { return enemyLossVariance; }
+    public double getExpectedPlayerLosses(UnitType type) { return expectedPlayerLossesByType[type.ordinal()]; }
+    public double getExpectedEnemyLosses(UnitType type) { return expectedEnemyLossesByType[type.ordinal()]; }
+    public double getExpectedStone() { return expectedStone; }
+    public double getExpectedWood() { return expectedWood; }
+    public double getExpectedGold() { return expectedGold; }
+}
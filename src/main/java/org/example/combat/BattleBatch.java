@@ -0,0 +1,39 @@
+package org.example.combat;
+
+// Outcome of CombatManager.resolveBatch, indexed like the submitted orders
+public class BattleBatch {
+    public enum Status {
+        RESOLVED,          // Battle fought, result available
+        TARGET_CONFLICT,   // An earlier order in the batch already attacks this territory
+        OWN_TERRITORY,     // The attacker already owns the target
+        NOT_ENOUGH_UNITS   // The attacker's earlier orders left too few units for this army
+    }
+
+    private final Status[] statuses;
+    private final CombatResult[] results;
+
+    BattleBatch(Status[] statuses, CombatResult[] results) {
+        this.statuses = statuses;
+        this.results = results;
+    }
+
+    public int size() { return statuses.length; }
+    public Status getStatus(int order) { return statuses[order]; }
+
+    // Result of an order, null unless its status is RESOLVED
+    public CombatResult getResult(int order) { return results[order]; }
+
+    public boolean isVictory(int order) {
+        return results[order] != null && results[order].isPlayerVictory();
+    }
+
+    public int getResolvedCount() {
+        int count = 0;
+        for (Status status : statuses) {
+            if (status == Status.RESOLVED) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,414 @@
+package org.example.combat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.example.model.UnitCounts;
+import org.example.player.Player;
+
+// Append-only binary log of resolved battles.
+//
+// Data file: 16-byte header (magic, version, unit type count), then one record
+// per battle, all integers as unsigned LEB128 varints:
+//   length, flags (bit 0 = raid, bit 1 = attacker won), day, player id,
+//   territory id, roll (0 = none, else roll * 2^53 + 1),
+//   attackers, defenders, attacker survivors, defender survivors
+// where each unit vector is a bit mask of the non-zero types followed by
+// their counts. Index file: one 8-byte data offset per battle, so a battle
+// can be read by its number without scanning.
+//
+// Records are encoded into a memory buffer; full buffers are handed to a
+// background writer thread, so the game loop never waits on the disk.
+public class BattleLog implements Closeable {
+    private static final long MAGIC = 0x474F4C5441424356L;  // "VCBATLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_RECORD_BYTES = 6 * 10 + 4 * (2 + UnitCounts.TYPE_COUNT * 5);
+    private static final double ROLL_SCALE = 0x1p53;
+
+    private final Path dataFile;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final ExecutorService writer;
+    private final Map<Player, Integer> playerIds;
+
+    // Buffers being filled; the spare pair is written in the background
+    private ByteBuffer records;
+    private ByteBuffer offsets;
+    private ByteBuffer spareRecords;
+    private ByteBuffer spareOffsets;
+    private Future<?> pendingWrite;
+
+    private long nextOffset;  // Data file offset of the next record
+    private long count;
+    private int day;
+
+    private BattleLog(Path dataFile, FileChannel data, FileChannel index, long nextOffset, long count) {
+        this.dataFile = dataFile;
+        this.data = data;
+        this.index = index;
+        this.nextOffset = nextOffset;
+        this.count = count;
+        this.playerIds = new IdentityHashMap<>();
+        this.records = ByteBuffer.allocate(BUFFER_BYTES);
+        this.offsets = ByteBuffer.allocate(BUFFER_BYTES);
+        this.spareRecords = ByteBuffer.allocate(BUFFER_BYTES);
+        this.spareOffsets = ByteBuffer.allocate(BUFFER_BYTES);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "battle-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Open a log for appending, creating it if needed. The index lives next to
+    // the data file with an ".idx" suffix.
+    public static BattleLog open(Path dataFile) throws IOException {
+        Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+        boolean exists = Files.exists(dataFile);
+        FileChannel data = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (exists && data.size() >= HEADER_BYTES) {
+            data.read(header, 0);
+            header.flip();
+            if (header.getLong() != MAGIC || header.getInt() != VERSION ||
+                    header.getInt() != UnitCounts.TYPE_COUNT) {
+                data.close();
+                index.close();
+                throw new IOException(dataFile + " is not a battle log for this version");
+            }
+        } else {
+            header.putLong(MAGIC).putInt(VERSION).putInt(UnitCounts.TYPE_COUNT).flip();
+            data.write(header, 0);
+            index.truncate(0);
+        }
+
+        // Records are written before their index entries, but a crash can leave
+        // a torn index entry, entries whose records never reached the disk,
+        // records the index never got, or half a record at the end. Keep the
+        // index entries whose records are complete, index the complete records
+        // after them by scanning, and cut off only the torn tail.
+        long dataSize = data.size();
+        long count = index.size() / Long.BYTES;
+        long end = HEADER_BYTES;
+        for (; count > 0; count--) {
+            long recordEnd = endOfRecord(data, indexEntry(index, count - 1), dataSize);
+            if (recordEnd >= 0) {
+                end = recordEnd;
+                break;
+            }
+        }
+        index.truncate(count * Long.BYTES);
+
+        ByteBuffer entries = ByteBuffer.allocate(BUFFER_BYTES);
+        long indexed = count;  // Entries already in the index file
+        long next;
+        while ((next = endOfRecord(data, end, dataSize)) >= 0) {
+            if (!entries.hasRemaining()) {
+                entries.flip();
+                writeFully(index, entries, indexed * Long.BYTES);
+                indexed = count;
+                entries.clear();
+            }
+            entries.putLong(end);
+            count++;
+            end = next;
+        }
+        entries.flip();
+        writeFully(index, entries, indexed * Long.BYTES);
+        data.truncate(end);
+        return new BattleLog(dataFile, data, index, end, count);
+    }
+
+    // Data file offset of battle number 'battle'
+    private static long indexEntry(FileChannel index, long battle) throws IOException {
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        index.read(offset, battle * Long.BYTES);
+        offset.flip();
+        return offset.getLong();
+    }
+
+    // Offset just past the record starting at 'start', or -1 if there is no
+    // complete, well-formed record there
+    private static long endOfRecord(FileChannel data, long start, long dataSize) throws IOException {
+        if (start < HEADER_BYTES || start > dataSize - 2) {
+            return -1;
+        }
+        ByteBuffer length = ByteBuffer.allocate(2);
+        data.read(length, start);
+
+        // The length is always a 2-byte varint
+        if ((length.get(0) & 0x80) == 0 || (length.get(1) & 0x80) != 0) {
+            return -1;
+        }
+        long end = start + 2 + ((length.get(0) & 0x7F) | (length.get(1) << 7));
+        return end - start - 2 <= MAX_RECORD_BYTES && end <= dataSize ? end : -1;
+    }
+
+    // Positional writes may be partial; repeat until the buffer is written
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // Day stamped on the battles logged from now on
+    public synchronized void setDay(int day) {
+        this.day = day;
+    }
+
+    // Number of battles in the log, including those not yet written
+    public synchronized long size() {
+        return count;
+    }
+
+    // Append one battle (called by CombatManager)
+    synchronized void append(int kind, Player player, int territoryId, UnitCounts attackers,
+                             UnitCounts defenders, double roll, boolean attackerVictory,
+                             UnitCounts attackerSurvivors, UnitCounts defenderSurvivors) {
+        if (records.remaining() < MAX_RECORD_BYTES || offsets.remaining() < Long.BYTES) {
+            handOff();
+        }
+
+        int start = records.position();
+        records.position(start + 2);  // Room for the length, patched below
+        int flags = kind | (attackerVictory ? 2 : 0);
+        putVarint(records, flags);
+        putVarint(records, day);
+        putVarint(records, playerId(player));
+        putVarint(records, territoryId);
+        putVarint(records, Double.isNaN(roll) ? 0 : (long)(roll * ROLL_SCALE) + 1);
+        putUnits(records, attackers);
+        putUnits(records, defenders);
+        putUnits(records, attackerSurvivors);
+        putUnits(records, defenderSurvivors);
+
+        // Records are shorter than 2^14 bytes: the length is always a 2-byte varint
+        int length = records.position() - start - 2;
+        records.put(start, (byte)(0x80 | (length & 0x7F)));
+        records.put(start + 1, (byte)(length >>> 7));
+
+        offsets.putLong(nextOffset);
+        nextOffset += records.position() - start;
+        count++;
+    }
+
+    private int playerId(Player player) {
+        Integer id = playerIds.get(player);
+        if (id == null) {
+            id = playerIds.size();
+            playerIds.put(player, id);
+        }
+        return id;
+    }
+
+    // Swap in the spare buffers and write the full ones in the background
+    private void handOff() {
+        awaitPendingWrite();
+
+        ByteBuffer fullRecords = records;
+        ByteBuffer fullOffsets = offsets;
+        records = spareRecords;
+        offsets = spareOffsets;
+        spareRecords = fullRecords;
+        spareOffsets = fullOffsets;
+
+        fullRecords.flip();
+        fullOffsets.flip();
+
+        // Positions are taken from the counters, not the file sizes, so a write
+        // always lands right after the previous one
+        long dataPosition = nextOffset - fullRecords.remaining();
+        long indexPosition = (count - fullOffsets.remaining() / Long.BYTES) * Long.BYTES;
+        pendingWrite = writer.submit(() -> {
+            try {
+                writeFully(data, fullRecords, dataPosition);
+                writeFully(index, fullOffsets, indexPosition);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                fullRecords.clear();
+                fullOffsets.clear();
+            }
+        });
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException("Battle log write failed", e));
+        } finally {
+            pendingWrite = null;
+        }
+    }
+
+    // Write everything logged so far
+    public synchronized void flush() {
+        if (offsets.position() > 0) {
+            handOff();
+        }
+        awaitPendingWrite();
+    }
+
+    // Number of battles handed to the writer; the rest are still in the buffer
+    private long handedOff() {
+        return count - offsets.position() / Long.BYTES;
+    }
+
+    // Read battle number 'battle' (0-based)
+    public synchronized BattleRecord read(long battle) throws IOException {
+        if (battle < 0 || battle >= count) {
+            throw new IndexOutOfBoundsException("Battle " + battle + " of " + count);
+        }
+        // Only force a write if the battle is still in the buffer
+        if (battle >= handedOff()) {
+            flush();
+        } else {
+            awaitPendingWrite();
+        }
+
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        index.read(offset, battle * Long.BYTES);
+        offset.flip();
+
+        ByteBuffer record = ByteBuffer.allocate(2 + MAX_RECORD_BYTES);
+        data.read(record, offset.getLong());
+        record.flip();
+        getVarint(record);  // Length
+        return decode(record);
+    }
+
+    // Visit every battle in order, reading the data file in large blocks
+    public synchronized void scan(Consumer<BattleRecord> visitor) throws IOException {
+        flush();
+
+        ByteBuffer block = ByteBuffer.allocate(BUFFER_BYTES);
+        long position = HEADER_BYTES;
+        long end = data.size();
+        while (position < end) {
+            block.clear();
+            data.read(block, position);
+            block.flip();
+
+            // Decode every complete record in the block
+            while (block.remaining() >= 2) {
+                int start = block.position();
+                int length = (int) getVarint(block);
+                if (length > MAX_RECORD_BYTES) {
+                    throw new IOException("Corrupt battle record at offset " + (position + start));
+                }
+                if (block.remaining() < length) {
+                    block.position(start);
+                    break;
+                }
+                int next = block.position() + length;
+                visitor.accept(decode(block));
+                block.position(next);
+            }
+
+            // A block always holds a whole record, so no progress means the
+            // file ends inside one
+            if (block.position() == 0) {
+                throw new IOException("Truncated battle record at offset " + position);
+            }
+            position += block.position();
+        }
+    }
+
+    private BattleRecord decode(ByteBuffer buffer) {
+        int flags = (int) getVarint(buffer);
+        int day = (int) getVarint(buffer);
+        int playerId = (int) getVarint(buffer);
+        int territoryId = (int) getVarint(buffer);
+        long rollCode = getVarint(buffer);
+        double roll = rollCode == 0 ? Double.NaN : (rollCode - 1) / ROLL_SCALE;
+        UnitCounts attackers = getUnits(buffer);
+        UnitCounts defenders = getUnits(buffer);
+        UnitCounts attackerSurvivors = getUnits(buffer);
+        UnitCounts defenderSurvivors = getUnits(buffer);
+        return new BattleRecord(flags & 1, day, playerId, territoryId, attackers, defenders, roll,
+                (flags & 2) != 0, attackerSurvivors, defenderSurvivors);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        writer.shutdown();
+        data.force(false);
+        index.force(false);
+        data.close();
+        index.close();
+    }
+
+    public Path getFile() {
+        return dataFile;
+    }
+
+    // ----- Encoding -----
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void putUnits(ByteBuffer buffer, UnitCounts units) {
+        int mask = 0;
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            if (units.getAt(i) > 0) {
+                mask |= 1 << i;
+            }
+        }
+        putVarint(buffer, mask);
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            if (units.getAt(i) > 0) {
+                putVarint(buffer, units.getAt(i));
+            }
+        }
+    }
+
+    private static UnitCounts getUnits(ByteBuffer buffer) {
+        UnitCounts units = new UnitCounts();
+        int mask = (int) getVarint(buffer);
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                units.setAt(i, (int) getVarint(buffer));
+            }
+        }
+        return units;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.combat;
+
+// Forecast of an attack produced by CombatManager.estimateOdds.
+// Exact forecasts (classic mode) have 0 samples and a zero-width interval.
+public class BattleOdds {
+    private final int samples;         // Simulated battles, 0 if exact
+    private final double winProbability;
+    private final double lowerBound;   // 95% confidence interval of the win probability
+    private final double upperBound;
+    private final double expectedPlayerLosses;
+    private final double expectedEnemyLosses;
+
+    public BattleOdds(int samples, double winProbability, double lowerBound, double upperBound,
+                      double expectedPlayerLosses, double expectedEnemyLosses) {
+        this.samples = samples;
+        this.winProbability = winProbability;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.expectedPlayerLosses = expectedPlayerLosses;
+        this.expectedEnemyLosses = expectedEnemyLosses;
+    }
+
+    // Getters
+    public int getSamples() { return samples; }
+    public boolean isExact() { return samples == 0; }
+    public double getWinProbability() { return winProbability; }
+    public double getLowerBound() { return lowerBound; }
+    public double getUpperBound() { return upperBound; }
+    public double getExpectedPlayerLosses() { return expectedPlayerLosses; }
+    public double getExpectedEnemyLosses() { return expectedEnemyLosses; }
+}
@@ -0,0 +1,24 @@
+package org.example.combat;
+
+import org.example.map.Territory;
+import org.example.model.UnitCounts;
+import org.example.player.Player;
+
+// One attack submitted to CombatManager.resolveBatch: the army is taken from
+// the attacker's available units when the batch is applied
+public class BattleOrder {
+    private final Player attacker;
+    private final Territory target;
+    private final UnitCounts army;
+
+    public BattleOrder(Player attacker, Territory target, UnitCounts army) {
+        this.attacker = attacker;
+        this.target = target;
+        this.army = army;
+    }
+
+    // Getters
+    public Player getAttacker() { return attacker; }
+    public Territory getTarget() { return target; }
+    public UnitCounts getArmy() { return army; }
+}
@@ -0,0 +1,47 @@
+package org.example.combat;
+
+import org.example.model.UnitCounts;
+
+// One battle as stored in a BattleLog
+public class BattleRecord {
+    public static final int ATTACK = 0;  // A player attacked a territory
+    public static final int RAID = 1;    // A territory's garrison attacked a player
+
+    private final int kind;
+    private final int day;
+    private final int playerId;          // Per-log player number, in order of first appearance
+    private final int territoryId;
+    private final UnitCounts attackers;  // Before the battle
+    private final UnitCounts defenders;
+    private final double roll;           // The deciding random draw, NaN for tactical battles
+    private final boolean attackerVictory;
+    private final UnitCounts attackerSurvivors;
+    private final UnitCounts defenderSurvivors;
+
+    public BattleRecord(int kind, int day, int playerId, int territoryId,
+                        UnitCounts attackers, UnitCounts defenders, double roll, boolean attackerVictory,
+                        UnitCounts attackerSurvivors, UnitCounts defenderSurvivors) {
+        this.kind = kind;
+        this.day = day;
+        this.playerId = playerId;
+        this.territoryId = territoryId;
+        this.attackers = attackers;
+        this.defenders = defenders;
+        this.roll = roll;
+        this.attackerVictory = attackerVictory;
+        this.attackerSurvivors = attackerSurvivors;
+        this.defenderSurvivors = defenderSurvivors;
+    }
+
+    // Getters
+    public int getKind() { return kind; }
+    public int getDay() { return day; }
+    public int getPlayerId() { return playerId; }
+    public int getTerritoryId() { return territoryId; }
+    public UnitCounts getAttackers() { return attackers; }
+    public UnitCounts getDefenders() { return defenders; }
+    public double getRoll() { return roll; }
+    public boolean isAttackerVictory() { return attackerVictory; }
+    public UnitCounts getAttackerSurvivors() { return attackerSurvivors; }
+    public UnitCounts getDefenderSurvivors() { return defenderSurvivors; }
+}
@@ -1,24 +1,59 @@
 package org.example.combat;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 import org.example.combat.CombatManager;
 import org.example.combat.CombatResult;
 import org.example.map.GameMap;
 import org.example.map.Territory;
 import org.example.model.DifficultyLevel;
 import org.example.model.Race;
-import org.example.model.Resources;
+import org.example.model.ResourceAmount;
+import org.example.model.UnitCounts;
 import org.example.model.UnitType;
 import org.example.player.Player;
 import org.example.utils.Event;
 import org.example.utils.EventManager;
+import org.example.utils.GameRandom;
 
 public class CombatManager {
     private static final int DEBUG_MODE = 1;
+    private static final int SAMPLES_PER_TASK = 1 << 16;  // Simulated battles per parallel task
+    private static final double CONFIDENCE_Z = 1.96;     // 95% confidence
+    private static final int OUTCOME_CACHE_CAPACITY = 4096;
+
+    // One tactical engine per thread - engines reuse their arrays between battles
+    private static final ThreadLocal<TacticalCombatEngine> ENGINES =
+            ThreadLocal.withInitial(TacticalCombatEngine::new);
+
+    private final RandomGenerator.SplittableGenerator random;
+    private CombatMode mode;
+    private OutcomeCache outcomeCache;
+    private BattleLog battleLog;  // Null when battles are not logged
 
     public CombatManager() {
+        this(GameRandom.create());
+    }
+
+    // Battles draw from 'random'; forecasts fork it once per parallel task
+    public CombatManager(RandomGenerator.SplittableGenerator random) {
+        this.random = random;
+        this.mode = CombatMode.CLASSIC;
+        this.outcomeCache = new OutcomeCache(OUTCOME_CACHE_CAPACITY);
     }
 
+    public CombatMode getMode() { return mode; }
+    public void setMode(CombatMode mode) { this.mode = mode; }
+
+    // Forecast cache; planners running in parallel may share one
+    public OutcomeCache getOutcomeCache() { return outcomeCache; }
+    public void setOutcomeCache(OutcomeCache outcomeCache) { this.outcomeCache = outcomeCache; }
+
+    // Every resolved battle is appended to the log, if one is set
+    public BattleLog getBattleLog() { return battleLog; }
+    public void setBattleLog(BattleLog battleLog) { this.battleLog = battleLog; }
+
     // Resolve combat between player and territory
     public CombatResult resolveCombat(Player player, Territory target) {
         if (DEBUG_MODE == 1) {
@@ -26,69 +61,417 @@ public class CombatManager {
         }
 
         // Get attacking units
-        Map<UnitType, Integer> attackingUnits = player.getAttackingUnits();
+        UnitCounts attackingUnits = player.getAttackingUnits();
+
+        // Get defending units (a copy, left holding the surviving garrison)
+        UnitCounts defendingUnits = target.getDefendingUnits();
+        UnitCounts garrison = battleLog != null ? new UnitCounts(defendingUnits) : null;
+
+        CombatResult result = fight(mode, attackingUnits, player.getRace(), defendingUnits,
+                target.getDefenseStrength(), target.getStoredResources(), random, DEBUG_MODE == 1);
+        logAttack(player, target, attackingUnits, garrison, result, defendingUnits);
+
+        // Update player's units
+        player.returnAttackingUnits(result.getSurvivingUnits());
+
+        // Update territory's defending units if player loses
+        if (!result.isPlayerVictory()) {
+            target.setDefendingUnits(defendingUnits);
+        }
+
+        return result;
+    }
 
-        // Get defending units
-        Map<UnitType, Integer> defendingUnits = target.getDefendingUnits();
+    // One player attack, computed without touching any player or territory.
+    // 'defendingUnits' is scaled in place to the garrison left after a defeat.
+    private static CombatResult fight(CombatMode mode, UnitCounts attackingUnits, Race race,
+                                      UnitCounts defendingUnits, int baseDefense, ResourceAmount storedResources,
+                                      RandomGenerator random, boolean log) {
+        if (mode == CombatMode.TACTICAL) {
+            return fightTactical(attackingUnits, race, defendingUnits, baseDefense, storedResources, random, log);
+        }
 
         // Calculate attack strength
-        int attackStrength = calculateAttackStrength(attackingUnits, player.getRace());
-        int defenseStrength = calculateDefenseStrength(defendingUnits, target.getDefenseStrength());
+        int attackStrength = StrengthTables.attackStrength(attackingUnits, race);
+        int defenseStrength = StrengthTables.defenseStrength(defendingUnits, null, baseDefense);
 
-        if (DEBUG_MODE == 1) {
+        if (log) {
             System.out.println("[DEBUG] Combat stats - Attack: " + attackStrength + ", Defense: " + defenseStrength);
         }
 
         // Calculate casualties
         double winProbability = attackStrength / (double)(attackStrength + defenseStrength);
-        boolean playerVictory = Math.random() < winProbability;
+        double roll = random.nextDouble();
+        boolean playerVictory = roll < winProbability;
 
         int playerLosses;
         int enemyLosses;
-        Map<UnitType, Integer> survivingUnits = new HashMap<>();
+        UnitCounts survivingUnits = new UnitCounts(attackingUnits);
 
         if (playerVictory) {
             // Player wins - calculate losses
-            double lossFactor = 0.3 + (0.4 * defenseStrength / (double)(attackStrength + defenseStrength));
-            playerLosses = (int)(calculateTotalUnits(attackingUnits) * lossFactor);
-            enemyLosses = calculateTotalUnits(defendingUnits);  // All defenders are lost
+            double lossFactor = attackerLossFactor(true, attackStrength, defenseStrength);
+            playerLosses = (int)(attackingUnits.total() * lossFactor);
+            enemyLosses = defenderLosses(true, defendingUnits.total());  // All defenders are lost
 
             // Calculate surviving units
-            survivingUnits = calculateSurvivingUnits(attackingUnits, lossFactor);
+            survivingUnits.applyLosses(lossFactor);
 
-            if (DEBUG_MODE == 1) {
+            if (log) {
                 System.out.println("[DEBUG] Player victory - Losses: " + playerLosses + ", Enemy Losses: " + enemyLosses);
             }
 
         } else {
             // Player loses - more casualties
-            double lossFactor = 0.6 + (0.2 * defenseStrength / (double)(attackStrength + defenseStrength));
-            playerLosses = (int)(calculateTotalUnits(attackingUnits) * lossFactor);
-            enemyLosses = (int)(calculateTotalUnits(defendingUnits) * 0.3);  // Some defenders survive
+            double lossFactor = attackerLossFactor(false, attackStrength, defenseStrength);
+            playerLosses = (int)(attackingUnits.total() * lossFactor);
+            enemyLosses = defenderLosses(false, defendingUnits.total());  // Some defenders survive
 
             // Calculate surviving units
-            survivingUnits = calculateSurvivingUnits(attackingUnits, lossFactor);
+            survivingUnits.applyLosses(lossFactor);
 
-            if (DEBUG_MODE == 1) {
+            // Reduce defending units by enemy losses
+            applyGarrisonLosses(defendingUnits, enemyLosses);
+
+            if (log) {
                 System.out.println("[DEBUG] Player defeat - Losses: " + playerLosses + ", Enemy Losses: " + enemyLosses);
             }
         }
 
         // Return combat result with captured resources if player wins
-        Resources capturedResources = playerVictory ? target.getStoredResources() : new Resources(0, 0, 0, 0, 0, 0);
+        ResourceAmount capturedResources = playerVictory ? storedResources : ResourceAmount.ZERO;
 
-        // Update player's units
-        player.returnAttackingUnits(survivingUnits);
+        return new CombatResult(playerVictory, playerLosses, enemyLosses, capturedResources, survivingUnits, roll);
+    }
 
-        // Update territory's defending units if player loses
-        if (!playerVictory) {
-            // Reduce defending units by enemy losses
-            updateDefendingUnits(target, enemyLosses);
+    // fight() for the tactical engine
+    private static CombatResult fightTactical(UnitCounts attackingUnits, Race race, UnitCounts defendingUnits,
+                                              int baseDefense, ResourceAmount storedResources,
+                                              RandomGenerator random, boolean log) {
+        TacticalCombatEngine engine = ENGINES.get();
+        int attackers = attackingUnits.total();
+        int defenders = defendingUnits.total();
+
+        UnitCounts survivingUnits = new UnitCounts();
+        boolean playerVictory = engine.fight(attackingUnits, race, defendingUnits, null, baseDefense,
+                random, survivingUnits, defendingUnits);
+        int playerLosses = attackers - survivingUnits.total();
+        int enemyLosses = defenders - defendingUnits.total();
+
+        if (log) {
+            System.out.println("[DEBUG] Tactical battle over " + engine.getRounds() + " rounds - " +
+                    (playerVictory ? "Player victory" : "Player defeat") +
+                    " - Losses: " + playerLosses + ", Enemy Losses: " + enemyLosses);
         }
 
+        ResourceAmount capturedResources = playerVictory ? storedResources : ResourceAmount.ZERO;
         return new CombatResult(playerVictory, playerLosses, enemyLosses, capturedResources, survivingUnits);
     }
 
+    // Resolve many attacks at once, e.g. every faction's orders for one tick.
+    // 1. Orders are checked in list order: only the first attack on a territory
+    //    is fought, and each army must fit in what the attacker's earlier orders
+    //    left available.
+    // 2. The accepted battles are independent, so they are fought in parallel,
+    //    each with its own generator split in order index.
+    // 3. Results are applied in order index: armies leave the attacker's units and
+    //    survivors return, defeated attacks thin the garrison. As with
+    //    resolveCombat, capturing a won territory is left to the caller.
+    public BattleBatch resolveBatch(List<BattleOrder> orders) {
+        int count = orders.size();
+        BattleBatch.Status[] statuses = new BattleBatch.Status[count];
+        CombatResult[] results = new CombatResult[count];
+        UnitCounts[] garrisons = new UnitCounts[count];
+        RandomGenerator[] generators = new RandomGenerator[count];
+
+        Set<Integer> claimedTargets = new HashSet<>();
+        Map<Player, UnitCounts> remainingUnits = new IdentityHashMap<>();
+        int[] accepted = new int[count];
+        int acceptedCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            BattleOrder order = orders.get(i);
+            Player attacker = order.getAttacker();
+            Territory target = order.getTarget();
+
+            if (target.getOwner() == attacker) {
+                statuses[i] = BattleBatch.Status.OWN_TERRITORY;
+                continue;
+            }
+            if (claimedTargets.contains(target.getId())) {
+                statuses[i] = BattleBatch.Status.TARGET_CONFLICT;
+                continue;
+            }
+
+            UnitCounts remaining = remainingUnits.computeIfAbsent(attacker, p -> new UnitCounts(p.getUnits()));
+            if (!fits(order.getArmy(), remaining)) {
+                statuses[i] = BattleBatch.Status.NOT_ENOUGH_UNITS;
+                continue;
+            }
+
+            remaining.subtract(order.getArmy());
+            claimedTargets.add(target.getId());
+            garrisons[i] = target.getDefendingUnits();
+            generators[i] = random.split();
+            statuses[i] = BattleBatch.Status.RESOLVED;
+            accepted[acceptedCount++] = i;
+        }
+
+        // Fight - reads only the per-order copies taken above
+        IntStream.range(0, acceptedCount).parallel().forEach(k -> {
+            int i = accepted[k];
+            BattleOrder order = orders.get(i);
+            Territory target = order.getTarget();
+            results[i] = fight(mode, order.getArmy(), order.getAttacker().getRace(), garrisons[i],
+                    target.getDefenseStrength(), target.getStoredResources(), generators[i], false);
+        });
+
+        // Apply in submission order
+        for (int k = 0; k < acceptedCount; k++) {
+            int i = accepted[k];
+            BattleOrder order = orders.get(i);
+            order.getAttacker().settleBattle(order.getArmy(), results[i].getSurvivingUnits());
+            logAttack(order.getAttacker(), order.getTarget(), order.getArmy(),
+                    battleLog != null ? order.getTarget().getDefendingUnits() : null, results[i], garrisons[i]);
+
+            if (!results[i].isPlayerVictory()) {
+                order.getTarget().setDefendingUnits(garrisons[i]);
+            }
+        }
+
+        if (DEBUG_MODE == 1) {
+            System.out.println("[DEBUG] Batch resolved " + acceptedCount + " of " + count + " attacks");
+        }
+
+        return new BattleBatch(statuses, results);
+    }
+
+    // Log a player attack; 'garrison' is the garrison before the battle and
+    // 'survivingGarrison' what was left of it after a defeat
+    private void logAttack(Player player, Territory target, UnitCounts army, UnitCounts garrison,
+                           CombatResult result, UnitCounts survivingGarrison) {
+        if (battleLog == null) {
+            return;
+        }
+        boolean victory = result.isPlayerVictory();
+        battleLog.append(BattleRecord.ATTACK, player, target.getId(), army, garrison, result.getRoll(), victory,
+                result.getSurvivingUnits(), victory ? new UnitCounts() : survivingGarrison);
+    }
+
+    // Whether every unit type of the army is covered by the available units
+    private static boolean fits(UnitCounts army, UnitCounts available) {
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            if (army.getAt(i) < 0 || army.getAt(i) > available.getAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Share of the attacking army lost in resolveCombat
+    private static double attackerLossFactor(boolean playerVictory, int attackStrength, int defenseStrength) {
+        double defenseShare = defenseStrength / (double)(attackStrength + defenseStrength);
+        return playerVictory ? 0.3 + (0.4 * defenseShare) : 0.6 + (0.2 * defenseShare);
+    }
+
+    // Defenders lost in resolveCombat
+    private static int defenderLosses(boolean playerVictory, int defenders) {
+        return playerVictory ? defenders : (int)(defenders * 0.3);
+    }
+
+    // Share of the player's units lost in resolveEnemyAttack
+    private static double defenderLossFactor(boolean playerVictory, int attackStrength, int defenseStrength) {
+        double attackShare = attackStrength / (double)(attackStrength + defenseStrength);
+        return playerVictory ? 0.2 + (0.3 * attackShare) : 0.5 + (0.3 * attackShare);
+    }
+
+    // Share of the raiding garrison lost in resolveEnemyAttack
+    private static double raiderLossFactor(boolean playerVictory, int attackStrength, int defenseStrength) {
+        double defenseShare = defenseStrength / (double)(attackStrength + defenseStrength);
+        return playerVictory ? 0.7 + (0.2 * defenseShare) : 0.4;
+    }
+
+    // Exact expected outcome of resolveCombat for the army against the target
+    // (classic model) - no random numbers, nothing is modified
+    public BattleAnalysis analyze(UnitCounts army, Race race, Territory target) {
+        return analyze(army, race, target.getDefendingUnits(), target.getDefenseStrength(),
+                target.getStoredResources());
+    }
+
+    // analyze() for a matchup the caller already holds, e.g. inside a planner's search
+    public BattleAnalysis analyze(UnitCounts army, Race race, UnitCounts defendingUnits, int baseDefense,
+                                  ResourceAmount stored) {
+        int attackStrength = StrengthTables.attackStrength(army, race);
+        int defenseStrength = StrengthTables.defenseStrength(defendingUnits, null, baseDefense);
+        double p = attackStrength / (double)(attackStrength + defenseStrength);
+
+        double winFactor = attackerLossFactor(true, attackStrength, defenseStrength);
+        double loseFactor = attackerLossFactor(false, attackStrength, defenseStrength);
+        int defenders = defendingUnits.total();
+
+        double[] playerByType = new double[UnitCounts.TYPE_COUNT];
+        double[] enemyByType = new double[UnitCounts.TYPE_COUNT];
+        mixLosses(army, winFactor, loseFactor, p, playerByType);
+        mixLosses(defendingUnits, 1.0, defenders > 0 ? defenderLosses(false, defenders) / (double) defenders : 0,
+                p, enemyByType);
+
+        return new BattleAnalysis(p,
+                mean(p, (int)(army.total() * winFactor), (int)(army.total() * loseFactor)),
+                variance(p, (int)(army.total() * winFactor), (int)(army.total() * loseFactor)),
+                mean(p, defenderLosses(true, defenders), defenderLosses(false, defenders)),
+                variance(p, defenderLosses(true, defenders), defenderLosses(false, defenders)),
+                playerByType, enemyByType,
+                p * stored.getStone(), p * stored.getWood(), p * stored.getGold());
+    }
+
+    // Exact expected outcome of resolveEnemyAttack (classic model); the win
+    // probability is the player's chance to hold
+    public BattleAnalysis analyzeEnemyAttack(Territory attackingTerritory, Player player) {
+        UnitCounts attackingUnits = attackingTerritory.getDefendingUnits();
+        UnitCounts defendingUnits = player.getUnits();
+        int attackStrength = StrengthTables.attackStrength(attackingUnits, null);
+        int defenseStrength = StrengthTables.defenseStrength(defendingUnits, player.getRace(),
+                player.getCurrentTerritory().getDefenseStrength());
+        double p = defenseStrength / (double)(attackStrength + defenseStrength);
+
+        double holdFactor = defenderLossFactor(true, attackStrength, defenseStrength);
+        double fallFactor = defenderLossFactor(false, attackStrength, defenseStrength);
+        double raiderHoldFactor = raiderLossFactor(true, attackStrength, defenseStrength);
+        double raiderFallFactor = raiderLossFactor(false, attackStrength, defenseStrength);
+        int defenders = defendingUnits.total();
+        int raiders = attackingUnits.total();
+
+        double[] playerByType = new double[UnitCounts.TYPE_COUNT];
+        double[] enemyByType = new double[UnitCounts.TYPE_COUNT];
+        mixLosses(defendingUnits, holdFactor, fallFactor, p, playerByType);
+        mixLosses(attackingUnits, raiders > 0 ? (int)(raiders * raiderHoldFactor) / (double) raiders : 0,
+                raiders > 0 ? (int)(raiders * raiderFallFactor) / (double) raiders : 0, p, enemyByType);
+
+        return new BattleAnalysis(p,
+                mean(p, (int)(defenders * holdFactor), (int)(defenders * fallFactor)),
+                variance(p, (int)(defenders * holdFactor), (int)(defenders * fallFactor)),
+                mean(p, (int)(raiders * raiderHoldFactor), (int)(raiders * raiderFallFactor)),
+                variance(p, (int)(raiders * raiderHoldFactor), (int)(raiders * raiderFallFactor)),
+                playerByType, enemyByType, 0, 0, 0);
+    }
+
+    // Expected per-type losses when each type loses (int)(count * factor) of its units
+    private static void mixLosses(UnitCounts units, double winFactor, double loseFactor, double p,
+                                  double[] expected) {
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            int count = units.getAt(i);
+            expected[i] = mean(p, (int)(count * winFactor), (int)(count * loseFactor));
+        }
+    }
+
+    private static double mean(double p, double onWin, double onLoss) {
+        return p * onWin + (1 - p) * onLoss;
+    }
+
+    // Variance of a value that is onWin with probability p and onLoss otherwise
+    private static double variance(double p, double onWin, double onLoss) {
+        return p * (1 - p) * (onWin - onLoss) * (onWin - onLoss);
+    }
+
+    // Forecast an attack on the target. Only reads the army and the garrison -
+    // no player or territory state changes.
+    // Classic battles are a single weighted roll, so their forecast is exact and
+    // built from analyze(): 'samples' is only checked, and the odds report 0 samples
+    // with a zero-width interval. Tactical battles are simulated 'samples' times,
+    // in fixed blocks that each get a generator split from the manager's generator
+    // and run as a parallel stream.
+    // Forecasts of both modes are remembered per matchup in the outcome cache.
+    public BattleOdds estimateOdds(UnitCounts army, Race race, Territory target, int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+
+        // Same matchup forecast before, exactly or with at least as many samples?
+        UnitCounts defendingUnits = target.getDefendingUnits();
+        OutcomeCache.Key key = OutcomeCache.key(mode, race, army, defendingUnits, target.getDefenseStrength());
+        BattleOdds cached = outcomeCache.get(key, samples);
+        if (cached != null) {
+            return cached;
+        }
+
+        BattleOdds odds = mode == CombatMode.TACTICAL ?
+                estimateTacticalOdds(army, race, target, samples) :
+                estimateClassicOdds(army, race, target);
+        outcomeCache.put(key, odds);
+        return odds;
+    }
+
+    private BattleOdds estimateClassicOdds(UnitCounts army, Race race, Territory target) {
+        BattleAnalysis analysis = analyze(army, race, target);
+        double p = analysis.getWinProbability();
+
+        if (DEBUG_MODE == 1) {
+            System.out.println("[DEBUG] Exact forecast vs Territory " + target.getId() + " - win rate " + p);
+        }
+
+        return new BattleOdds(0, p, p, p, analysis.getExpectedPlayerLosses(), analysis.getExpectedEnemyLosses());
+    }
+
+    // Tactical forecast: every sample is a full simulated battle
+    private BattleOdds estimateTacticalOdds(UnitCounts army, Race race, Territory target, int samples) {
+        UnitCounts defendingUnits = target.getDefendingUnits();
+        int baseDefense = target.getDefenseStrength();
+
+        int tasks = (samples + SAMPLES_PER_TASK - 1) / SAMPLES_PER_TASK;
+        RandomGenerator[] generators = new RandomGenerator[tasks];
+        for (int t = 0; t < tasks; t++) {
+            generators[t] = random.split();
+        }
+
+        // Per task: wins, player losses, enemy losses
+        long[][] totals = new long[tasks][3];
+        IntStream.range(0, tasks).parallel().forEach(t -> {
+            TacticalCombatEngine engine = ENGINES.get();
+            UnitCounts attackerSurvivors = new UnitCounts();
+            UnitCounts defenderSurvivors = new UnitCounts();
+            int count = Math.min(SAMPLES_PER_TASK, samples - t * SAMPLES_PER_TASK);
+            for (int i = 0; i < count; i++) {
+                if (engine.fight(army, race, defendingUnits, null, baseDefense, generators[t],
+                        attackerSurvivors, defenderSurvivors)) {
+                    totals[t][0]++;
+                }
+                totals[t][1] += army.total() - attackerSurvivors.total();
+                totals[t][2] += defendingUnits.total() - defenderSurvivors.total();
+            }
+        });
+
+        long wins = 0;
+        long playerLosses = 0;
+        long enemyLosses = 0;
+        for (long[] total : totals) {
+            wins += total[0];
+            playerLosses += total[1];
+            enemyLosses += total[2];
+        }
+
+        if (DEBUG_MODE == 1) {
+            System.out.println("[DEBUG] Simulated " + samples + " tactical battles vs Territory " +
+                    target.getId() + " in " + tasks + " tasks - win rate " + wins / (double) samples);
+        }
+
+        return odds(samples, wins / (double) samples, playerLosses / (double) samples,
+                enemyLosses / (double) samples);
+    }
+
+    // Wrap a simulated win rate with its confidence interval
+    private static BattleOdds odds(int samples, double p, double expectedPlayerLosses, double expectedEnemyLosses) {
+        // Wilson score interval - stays inside [0, 1] even for p near 0 or 1
+        double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+        double centre = (p + z2 / (2.0 * samples)) / (1 + z2 / samples);
+        double margin = CONFIDENCE_Z * Math.sqrt(p * (1 - p) / samples + z2 / (4.0 * samples * samples)) /
+                (1 + z2 / samples);
+
+        // Clamped to contain p: at p = 0 or 1 rounding can leave it a ulp outside
+        return new BattleOdds(samples, p, Math.max(0, Math.min(p, centre - margin)),
+                Math.min(1, Math.max(p, centre + margin)),
+                expectedPlayerLosses, expectedEnemyLosses);
+    }
+
     // Resolve enemy attack against player
     public CombatResult resolveEnemyAttack(Territory attackingTerritory, Player player) {
         if (DEBUG_MODE == 1) {
@@ -96,17 +479,27 @@ public class CombatManager {
         }
 
         // Get attacking enemy units
-        Map<UnitType, Integer> attackingUnits = attackingTerritory.getDefendingUnits();
+        UnitCounts attackingUnits = attackingTerritory.getDefendingUnits();
 
         // Get player's defending units (all available units)
-        Map<UnitType, Integer> defendingUnits = player.getUnits();
+        UnitCounts defendingUnits = player.getUnits();
+
+        // Pre-battle copies for the battle log
+        UnitCounts raiders = battleLog != null ? new UnitCounts(attackingUnits) : null;
+        UnitCounts defenders = battleLog != null ? new UnitCounts(defendingUnits) : null;
+
+        if (mode == CombatMode.TACTICAL) {
+            CombatResult result = resolveTacticalEnemyAttack(attackingTerritory, attackingUnits, player, defendingUnits);
+            logRaid(attackingTerritory, player, raiders, defenders, result, attackingUnits);
+            return result;
+        }
 
         // Calculate strengths
-        int attackStrength = calculateAttackStrength(attackingUnits, null);  // Null race for enemy
-        int defenseStrength = calculateDefenseStrength(defendingUnits, player.getCurrentTerritory().getDefenseStrength());
+        int attackStrength = StrengthTables.attackStrength(attackingUnits, null);  // Null race for enemy
 
-        // Apply race defensive bonus
-        defenseStrength = (int)(defenseStrength * player.getRace().getDefenseMultiplier());
+        // Race defensive bonus is part of the table row
+        int defenseStrength = StrengthTables.defenseStrength(defendingUnits, player.getRace(),
+                player.getCurrentTerritory().getDefenseStrength());
 
         if (DEBUG_MODE == 1) {
             System.out.println("[DEBUG] Enemy attack stats - Attack: " + attackStrength +
@@ -115,22 +508,23 @@ public class CombatManager {
 
         // Calculate result
         double defenseProbability = defenseStrength / (double)(attackStrength + defenseStrength);
-        boolean playerVictory = Math.random() < defenseProbability;
+        double roll = random.nextDouble();
+        boolean playerVictory = roll < defenseProbability;
 
         int playerLosses;
         int enemyLosses;
-        Map<UnitType, Integer> survivingPlayerUnits = new HashMap<>();
+        UnitCounts survivingPlayerUnits = new UnitCounts(defendingUnits);
 
         if (playerVictory) {
             // Player successfully defends
-            double playerLossFactor = 0.2 + (0.3 * attackStrength / (double)(attackStrength + defenseStrength));
-            double enemyLossFactor = 0.7 + (0.2 * defenseStrength / (double)(attackStrength + defenseStrength));
+            double playerLossFactor = defenderLossFactor(true, attackStrength, defenseStrength);
+            double enemyLossFactor = raiderLossFactor(true, attackStrength, defenseStrength);
 
-            playerLosses = (int)(calculateTotalUnits(defendingUnits) * playerLossFactor);
-            enemyLosses = (int)(calculateTotalUnits(attackingUnits) * enemyLossFactor);
+            playerLosses = (int)(defendingUnits.total() * playerLossFactor);
+            enemyLosses = (int)(attackingUnits.total() * enemyLossFactor);
 
             // Calculate surviving units
-            survivingPlayerUnits = calculateSurvivingUnits(defendingUnits, playerLossFactor);
+            survivingPlayerUnits.applyLosses(playerLossFactor);
 
             if (DEBUG_MODE == 1) {
                 System.out.println("[DEBUG] Defense successful - Player Losses: " + playerLosses +
@@ -139,14 +533,14 @@ public class CombatManager {
 
         } else {
             // Player fails to defend
-            double playerLossFactor = 0.5 + (0.3 * attackStrength / (double)(attackStrength + defenseStrength));
-            double enemyLossFactor = 0.4;
+            double playerLossFactor = defenderLossFactor(false, attackStrength, defenseStrength);
+            double enemyLossFactor = raiderLossFactor(false, attackStrength, defenseStrength);
 
-            playerLosses = (int)(calculateTotalUnits(defendingUnits) * playerLossFactor);
-            enemyLosses = (int)(calculateTotalUnits(attackingUnits) * enemyLossFactor);
+            playerLosses = (int)(defendingUnits.total() * playerLossFactor);
+            enemyLosses = (int)(attackingUnits.total() * enemyLossFactor);
 
             // Calculate surviving units
-            survivingPlayerUnits = calculateSurvivingUnits(defendingUnits, playerLossFactor);
+            survivingPlayerUnits.applyLosses(playerLossFactor);
 
             if (DEBUG_MODE == 1) {
                 System.out.println("[DEBUG] Defense failed - Player Losses: " + playerLosses +
@@ -155,116 +549,69 @@ public class CombatManager {
         }
 
         // Update player's units
-        for (Map.Entry<UnitType, Integer> entry : survivingPlayerUnits.entrySet()) {
-            UnitType type = entry.getKey();
-            int survivors = entry.getValue();
-            player.getUnits().put(type, survivors);
-        }
+        player.getUnits().copyFrom(survivingPlayerUnits);
 
         // Update attacking territory's units if player wins
         if (playerVictory) {
-            updateDefendingUnits(attackingTerritory, enemyLosses);
+            applyGarrisonLosses(attackingUnits, enemyLosses);
+            attackingTerritory.setDefendingUnits(attackingUnits);
         }
 
         // No resources captured in defense
-        Resources noCapturedResources = new Resources(0, 0, 0, 0, 0, 0);
-
-        return new CombatResult(playerVictory, playerLosses, enemyLosses, noCapturedResources, survivingPlayerUnits);
-    }
-
-    // Calculate attack strength based on units
-    private int calculateAttackStrength(Map<UnitType, Integer> units, Race race) {
-        int strength = 0;
-
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
-
-            // Calculate base attack value
-            int unitStrength = (type.getAttackPower() + type.getMagicPower()) * count;
-
-            // Apply race modifier if available
-            if (race != null) {
-                unitStrength = (int)(unitStrength *
-                        (type.getAttackPower() > type.getMagicPower() ?
-                                race.getStrengthMultiplier() : race.getMagicMultiplier()));
-            }
-
-            strength += unitStrength;
-        }
-
-        return strength;
-    }
-
-    // Calculate defense strength based on units and territory
-    private int calculateDefenseStrength(Map<UnitType, Integer> units, int baseDefense) {
-        int strength = baseDefense;  // Start with territory base defense
-
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
+        ResourceAmount noCapturedResources = ResourceAmount.ZERO;
 
-            strength += type.getDefense() * count;
-        }
-
-        return strength;
-    }
-
-    // Calculate total number of units
-    private int calculateTotalUnits(Map<UnitType, Integer> units) {
-        int total = 0;
-        for (int count : units.values()) {
-            total += count;
-        }
-        return total;
+        CombatResult result = new CombatResult(playerVictory, playerLosses, enemyLosses, noCapturedResources,
+                survivingPlayerUnits, roll);
+        logRaid(attackingTerritory, player, raiders, defenders, result, attackingUnits);
+        return result;
     }
 
-    // Calculate surviving units after battle
-    private Map<UnitType, Integer> calculateSurvivingUnits(Map<UnitType, Integer> units, double lossFactor) {
-        Map<UnitType, Integer> survivors = new HashMap<>();
-
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
-
-            // Calculate survivors
-            int lost = (int)(count * lossFactor);
-            int survived = count - lost;
-
-            if (survived > 0) {
-                survivors.put(type, survived);
-            }
+    // Log an enemy attack; the territory's garrison is the attacking side
+    private void logRaid(Territory attackingTerritory, Player player, UnitCounts raiders, UnitCounts defenders,
+                         CombatResult result, UnitCounts survivingRaiders) {
+        if (battleLog == null) {
+            return;
         }
-
-        return survivors;
+        battleLog.append(BattleRecord.RAID, player, attackingTerritory.getId(), raiders, defenders, result.getRoll(),
+                !result.isPlayerVictory(), survivingRaiders, result.getSurvivingUnits());
     }
 
-    // Update defending units after a battle
-    private void updateDefendingUnits(Territory territory, int losses) {
-        Map<UnitType, Integer> defendingUnits = territory.getDefendingUnits();
-        int totalUnits = calculateTotalUnits(defendingUnits);
+    // Spread a garrison's losses over its unit types (in place)
+    private static void applyGarrisonLosses(UnitCounts defendingUnits, int losses) {
+        int totalUnits = defendingUnits.total();
 
         if (totalUnits <= 0) {
             return;
         }
 
-        // Calculate loss factor
+        // Calculate loss factor and remove the losses from each unit type
         double lossFactor = losses / (double)totalUnits;
+        defendingUnits.applyLosses(lossFactor);
+    }
 
-        // Update each unit type
-        for (Map.Entry<UnitType, Integer> entry : new HashMap<>(defendingUnits).entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
+    // resolveEnemyAttack for the tactical engine: both sides keep exactly their survivors
+    private CombatResult resolveTacticalEnemyAttack(Territory attackingTerritory, UnitCounts attackingUnits,
+                                                    Player player, UnitCounts defendingUnits) {
+        TacticalCombatEngine engine = ENGINES.get();
+        int attackers = attackingUnits.total();
+        int defenders = defendingUnits.total();
 
-            // Calculate losses for this type
-            int typeLosses = (int)(count * lossFactor);
-            int survivors = count - typeLosses;
+        // The player's units are updated in place, the raiders' copy is written back
+        boolean enemyVictory = engine.fight(attackingUnits, null, defendingUnits, player.getRace(),
+                player.getCurrentTerritory().getDefenseStrength(), random, attackingUnits, defendingUnits);
+        attackingTerritory.setDefendingUnits(attackingUnits);
 
-            if (survivors <= 0) {
-                defendingUnits.remove(type);
-            } else {
-                defendingUnits.put(type, survivors);
-            }
+        boolean playerVictory = !enemyVictory;
+        int playerLosses = defenders - defendingUnits.total();
+        int enemyLosses = attackers - attackingUnits.total();
+
+        if (DEBUG_MODE == 1) {
+            System.out.println("[DEBUG] Tactical defense over " + engine.getRounds() + " rounds - " +
+                    (playerVictory ? "held" : "failed") + " - Player Losses: " + playerLosses +
+                    ", Enemy Losses: " + enemyLosses);
         }
+
+        return new CombatResult(playerVictory, playerLosses, enemyLosses, ResourceAmount.ZERO,
+                new UnitCounts(defendingUnits));
     }
-}
\ No newline at end of file
+}
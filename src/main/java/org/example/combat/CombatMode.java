@@ -0,0 +1,7 @@
+package org.example.combat;
+
+// How CombatManager decides battles
+public enum CombatMode {
+    CLASSIC,   // One roll weighted by total attack vs total defense
+    TACTICAL   // Round-by-round simulation per unit type (TacticalCombatEngine)
+}
@@ -7,7 +7,8 @@ import org.example.map.GameMap;
 import org.example.map.Territory;
 import org.example.model.DifficultyLevel;
 import org.example.model.Race;
-import org.example.model.Resources;
+import org.example.model.ResourceAmount;
+import org.example.model.UnitCounts;
 import org.example.model.UnitType;
 import org.example.player.Player;
 import org.example.utils.Event;
@@ -17,22 +18,30 @@ public class CombatResult {
     private boolean playerVictory;
     private int playerLosses;
     private int enemyLosses;
-    private Resources capturedResources;
-    private Map<UnitType, Integer> survivingUnits;
+    private ResourceAmount capturedResources;
+    private UnitCounts survivingUnits;
+    private double roll;  // The random draw that decided the battle, NaN if none
 
     public CombatResult(boolean playerVictory, int playerLosses, int enemyLosses,
-                        Resources capturedResources, Map<UnitType, Integer> survivingUnits) {
+                        ResourceAmount capturedResources, UnitCounts survivingUnits) {
+        this(playerVictory, playerLosses, enemyLosses, capturedResources, survivingUnits, Double.NaN);
+    }
+
+    public CombatResult(boolean playerVictory, int playerLosses, int enemyLosses,
+                        ResourceAmount capturedResources, UnitCounts survivingUnits, double roll) {
         this.playerVictory = playerVictory;
         this.playerLosses = playerLosses;
         this.enemyLosses = enemyLosses;
         this.capturedResources = capturedResources;
         this.survivingUnits = survivingUnits;
+        this.roll = roll;
     }
 
     // Getters
     public boolean isPlayerVictory() { return playerVictory; }
     public int getPlayerLosses() { return playerLosses; }
     public int getEnemyLosses() { return enemyLosses; }
-    public Resources getCapturedResources() { return capturedResources; }
-    public Map<UnitType, Integer> getSurvivingUnits() { return survivingUnits; }
+    public ResourceAmount getCapturedResources() { return capturedResources; }
+    public UnitCounts getSurvivingUnits() { return survivingUnits; }
+    public double getRoll() { return roll; }
 }
\ No newline at end of file
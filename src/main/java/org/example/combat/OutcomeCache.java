@@ -0,0 +1,143 @@
+package org.example.combat;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+
+// Bounded cache of battle forecasts keyed by the matchup:
+// (combat mode, attacker race, attacking counts, defending counts, base defense).
+// Stores the outcome distribution (BattleOdds), not a single sampled battle.
+//
+// Entries are spread over independently locked segments, each an LRU list of
+// capacity / SEGMENTS entries, so parallel planners rarely wait on each other.
+// Hit, miss and eviction counters are LongAdders for the same reason.
+public class OutcomeCache {
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    public OutcomeCache(int capacity) {
+        if (capacity < SEGMENTS) {
+            throw new IllegalArgumentException("Cache capacity must be at least " + SEGMENTS);
+        }
+        this.segments = new Segment[SEGMENTS];
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / SEGMENTS);
+        }
+    }
+
+    // Cached forecast that is exact or has at least 'samples' samples, or null
+    public BattleOdds get(Key key, int samples) {
+        Segment segment = segmentFor(key);
+        BattleOdds odds;
+        synchronized (segment) {
+            odds = segment.get(key);
+        }
+        if (odds != null && (odds.isExact() || odds.getSamples() >= samples)) {
+            hits.increment();
+            return odds;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(Key key, BattleOdds odds) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, odds);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    private Segment segmentFor(Key key) {
+        // Spread the hash so segments do not depend on the low bits only
+        int h = key.hash ^ (key.hash >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    // Build the key of a matchup
+    public static Key key(CombatMode mode, Race race, UnitCounts attackers, UnitCounts defenders,
+                          int baseDefense) {
+        int[] encoded = new int[2 + 2 * UnitCounts.TYPE_COUNT];
+        encoded[0] = (mode.ordinal() << 8) | (race == null ? 0 : race.ordinal() + 1);
+        encoded[1] = baseDefense;
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            encoded[2 + i] = attackers.getAt(i);
+            encoded[2 + UnitCounts.TYPE_COUNT + i] = defenders.getAt(i);
+        }
+        return new Key(encoded);
+    }
+
+    // Matchup encoded as one int[] with its hash computed once
+    public static final class Key {
+        private final int[] encoded;
+        private final int hash;
+
+        private Key(int[] encoded) {
+            this.encoded = encoded;
+            this.hash = Arrays.hashCode(encoded);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).hash == hash &&
+                    Arrays.equals(((Key) other).encoded, encoded);
+        }
+    }
+
+    // One LRU segment; callers synchronize on it
+    private final class Segment extends LinkedHashMap<Key, BattleOdds> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);  // Access order
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BattleOdds> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
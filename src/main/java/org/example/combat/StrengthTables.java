@@ -0,0 +1,62 @@
+package org.example.combat;
+
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+
+// Effective per-unit attack and defense for every (race, unit type) pair,
+// built once from the enums. Row 0 is the "no race" case used for enemy
+// garrisons; row race.ordinal() + 1 applies that race's multipliers.
+// An army's strength is then the dot product of its counts with one row.
+public final class StrengthTables {
+    private static final Race[] RACES = Race.values();
+    private static final double[][] ATTACK = new double[RACES.length + 1][UnitCounts.TYPE_COUNT];
+    private static final double[][] DEFENSE = new double[RACES.length + 1][UnitCounts.TYPE_COUNT];
+
+    static {
+        for (int row = 0; row <= RACES.length; row++) {
+            Race race = row == 0 ? null : RACES[row - 1];
+            for (UnitType type : UnitCounts.TYPES) {
+                double attack = type.getAttackPower() + type.getMagicPower();
+                double defense = type.getDefense();
+                if (race != null) {
+                    // Fighters use the race's strength bonus, casters its magic bonus
+                    attack *= type.getAttackPower() > type.getMagicPower() ?
+                            race.getStrengthMultiplier() : race.getMagicMultiplier();
+                    defense *= race.getDefenseMultiplier();
+                }
+                ATTACK[row][type.ordinal()] = attack;
+                DEFENSE[row][type.ordinal()] = defense;
+            }
+        }
+    }
+
+    private StrengthTables() {
+    }
+
+    private static int row(Race race) {
+        return race == null ? 0 : race.ordinal() + 1;
+    }
+
+    // Effective attack per unit type for a race (null = no race); do not modify
+    public static double[] attackRow(Race race) {
+        return ATTACK[row(race)];
+    }
+
+    // Effective defense per unit type for a race (null = no race); do not modify
+    public static double[] defenseRow(Race race) {
+        return DEFENSE[row(race)];
+    }
+
+    // Total attack strength of an army
+    public static int attackStrength(UnitCounts units, Race race) {
+        return (int) units.dot(ATTACK[row(race)]);
+    }
+
+    // Total defense strength of units holding a position with the given base defense.
+    // The race's defense bonus applies to the base defense as well.
+    public static int defenseStrength(UnitCounts units, Race race, int baseDefense) {
+        double base = race == null ? baseDefense : baseDefense * race.getDefenseMultiplier();
+        return (int)(base + units.dot(DEFENSE[row(race)]));
+    }
+}
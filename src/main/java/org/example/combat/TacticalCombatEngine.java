@@ -0,0 +1,153 @@
+package org.example.combat;
+
+import java.util.random.RandomGenerator;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+
+// Round-based combat: every unit type keeps its own hit point pool and
+// deals its own damage, instead of both armies being summed into one number.
+//   - physical damage (attack power) is reduced by the target type's armour,
+//     magic damage (magic power) ignores armour
+//   - each type spreads its damage over the enemy types by their unit share
+//   - defenders also benefit from the territory's fortifications
+//   - both sides strike simultaneously; a stack loses whole units as its pool
+//     drops below multiples of the unit's hit points
+// The battle ends when one side is wiped out or after MAX_ROUNDS, in which
+// case the defender holds.
+//
+// State is kept in per-side arrays indexed by unit type ordinal and reused
+// between battles, so a battle allocates nothing. An engine is not thread-safe:
+// use one per worker thread.
+public class TacticalCombatEngine {
+    public static final int MAX_ROUNDS = 20;
+
+    private static final double BASE_HIT_POINTS = 20;
+    private static final double HIT_POINTS_PER_DEFENSE = 2;
+    private static final double ARMOUR_SCALE = 20;        // Defense at which half of physical damage is absorbed
+    private static final double FORTIFICATION_SCALE = 100; // Base defense at which defenders take half damage
+    private static final double DAMAGE_VARIANCE = 0.2;     // Each side's damage varies +-10% per round
+
+    private static final int TYPES = UnitCounts.TYPE_COUNT;
+    private static final Race[] RACES = Race.values();
+
+    // Per (race row, unit type) - row 0 is "no race", as in StrengthTables
+    private static final double[][] PHYSICAL = new double[RACES.length + 1][TYPES];
+    private static final double[][] MAGIC = new double[RACES.length + 1][TYPES];
+    private static final double[][] HIT_POINTS = new double[RACES.length + 1][TYPES];
+    // Share of physical damage that gets through each unit type's armour
+    private static final double[] ARMOUR_PASS = new double[TYPES];
+
+    static {
+        for (int row = 0; row <= RACES.length; row++) {
+            Race race = row == 0 ? null : RACES[row - 1];
+            for (UnitType type : UnitCounts.TYPES) {
+                int t = type.ordinal();
+                PHYSICAL[row][t] = type.getAttackPower() * (race == null ? 1 : race.getStrengthMultiplier());
+                MAGIC[row][t] = type.getMagicPower() * (race == null ? 1 : race.getMagicMultiplier());
+                HIT_POINTS[row][t] = (BASE_HIT_POINTS + HIT_POINTS_PER_DEFENSE * type.getDefense()) *
+                        (race == null ? 1 : race.getDefenseMultiplier());
+            }
+        }
+        for (UnitType type : UnitCounts.TYPES) {
+            ARMOUR_PASS[type.ordinal()] = ARMOUR_SCALE / (ARMOUR_SCALE + type.getDefense());
+        }
+    }
+
+    // Side state: hit points left and units standing per type, damage taken this round
+    private final double[] attackerPool = new double[TYPES];
+    private final double[] defenderPool = new double[TYPES];
+    private final int[] attackerUnits = new int[TYPES];
+    private final int[] defenderUnits = new int[TYPES];
+    private final double[] attackerDamage = new double[TYPES];
+    private final double[] defenderDamage = new double[TYPES];
+
+    private int rounds;
+
+    // Fight a battle. The survivors of both sides are written to the given
+    // vectors (which may be the input armies). Returns true if the attacker won.
+    public boolean fight(UnitCounts attackers, Race attackerRace, UnitCounts defenders, Race defenderRace,
+                         int baseDefense, RandomGenerator random,
+                         UnitCounts attackerSurvivors, UnitCounts defenderSurvivors) {
+        int attackerRow = attackerRace == null ? 0 : attackerRace.ordinal() + 1;
+        int defenderRow = defenderRace == null ? 0 : defenderRace.ordinal() + 1;
+        double fortification = FORTIFICATION_SCALE / (FORTIFICATION_SCALE + Math.max(0, baseDefense));
+
+        int attackersLeft = fill(attackerPool, attackerUnits, attackers, attackerRow);
+        int defendersLeft = fill(defenderPool, defenderUnits, defenders, defenderRow);
+
+        rounds = 0;
+        while (attackersLeft > 0 && defendersLeft > 0 && rounds < MAX_ROUNDS) {
+            rounds++;
+            double attackerRoll = 1 - DAMAGE_VARIANCE / 2 + DAMAGE_VARIANCE * random.nextDouble();
+            double defenderRoll = 1 - DAMAGE_VARIANCE / 2 + DAMAGE_VARIANCE * random.nextDouble();
+
+            // Simultaneous strikes: both use the state at the start of the round
+            strike(attackerUnits, attackerRow, defenderUnits, defendersLeft,
+                    attackerRoll * fortification, defenderDamage);
+            strike(defenderUnits, defenderRow, attackerUnits, attackersLeft,
+                    defenderRoll, attackerDamage);
+
+            attackersLeft = apply(attackerPool, attackerUnits, attackerDamage, attackerRow);
+            defendersLeft = apply(defenderPool, defenderUnits, defenderDamage, defenderRow);
+        }
+
+        for (int t = 0; t < TYPES; t++) {
+            attackerSurvivors.setAt(t, attackerUnits[t]);
+            defenderSurvivors.setAt(t, defenderUnits[t]);
+        }
+        return attackersLeft > 0 && defendersLeft == 0;
+    }
+
+    // Rounds fought in the last battle
+    public int getRounds() {
+        return rounds;
+    }
+
+    // Load an army into a side; returns its unit count
+    private static int fill(double[] pool, int[] units, UnitCounts army, int row) {
+        int total = 0;
+        for (int t = 0; t < TYPES; t++) {
+            units[t] = Math.max(0, army.getAt(t));
+            pool[t] = units[t] * HIT_POINTS[row][t];
+            total += units[t];
+        }
+        return total;
+    }
+
+    // Damage dealt by one side to each type of the other side
+    private static void strike(int[] units, int row, int[] targetUnits, int targetTotal,
+                               double multiplier, double[] damage) {
+        for (int u = 0; u < TYPES; u++) {
+            damage[u] = 0;
+        }
+
+        for (int t = 0; t < TYPES; t++) {
+            if (units[t] == 0) {
+                continue;
+            }
+            double physical = units[t] * PHYSICAL[row][t] * multiplier;
+            double magic = units[t] * MAGIC[row][t] * multiplier;
+
+            // Spread over the enemy stacks by their share of the enemy's units
+            for (int u = 0; u < TYPES; u++) {
+                if (targetUnits[u] > 0) {
+                    double share = targetUnits[u] / (double) targetTotal;
+                    damage[u] += share * (physical * ARMOUR_PASS[u] + magic);
+                }
+            }
+        }
+    }
+
+    // Subtract the round's damage; a wounded unit keeps fighting.
+    // Returns the units left standing.
+    private static int apply(double[] pool, int[] units, double[] damage, int row) {
+        int total = 0;
+        for (int t = 0; t < TYPES; t++) {
+            pool[t] = Math.max(0, pool[t] - damage[t]);
+            units[t] = (int) Math.ceil(pool[t] / HIT_POINTS[row][t] - 1e-9);
+            total += units[t];
+        }
+        return total;
+    }
+}
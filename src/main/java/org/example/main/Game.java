@@ -1,20 +1,32 @@
 package org.example.main;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
+import org.example.combat.BattleLog;
+import org.example.combat.BattleOdds;
 import org.example.combat.CombatManager;
+import org.example.combat.CombatMode;
 import org.example.combat.CombatResult;
 import org.example.map.GameMap;
+import org.example.map.MapConfig;
 import org.example.map.Territory;
 import org.example.model.DifficultyLevel;
 import org.example.model.Race;
+import org.example.model.UnitCounts;
 import org.example.model.UnitType;
+import org.example.player.JobQueue;
 import org.example.player.Player;
 import org.example.utils.Event;
 import org.example.utils.EventManager;
+import org.example.utils.GameRandom;
 
 public class Game {
     private static final int DEBUG_MODE = 1; // Set to 0 for production
+    private static final int BATTLE_FORECAST_SAMPLES = 1_000_000;  // Tactical mode; classic forecasts are exact
 
     private Player player;
     private GameMap gameMap;
@@ -23,11 +35,36 @@ public class Game {
     private Race playerRace;
     private DifficultyLevel difficulty;
     private Scanner scanner;
+    private long seed;
+    private RandomGenerator.SplittableGenerator random;  // Game's own rolls; subsystems get splits
+    private CombatManager combatManager;
+    private CombatMode combatMode;
+    private Path battleLogFile;  // Null when battles are not logged
+    private BattleLog battleLog;
+    private EventManager eventManager;
+    private JobQueue jobQueue;
 
     public Game() {
+        this(System.nanoTime());
+    }
+
+    // The same seed and the same inputs replay the same game
+    public Game(long seed) {
         scanner = new Scanner(System.in);
         currentDay = 1;
         isGameOver = false;
+        this.seed = seed;
+        random = GameRandom.create(seed);
+        combatMode = CombatMode.CLASSIC;
+    }
+
+    public void setCombatMode(CombatMode combatMode) {
+        this.combatMode = combatMode;
+    }
+
+    // Append every battle of the game to a binary log (see BattleLog)
+    public void setBattleLogFile(Path battleLogFile) {
+        this.battleLogFile = battleLogFile;
     }
 
     public void start() {
@@ -68,14 +105,32 @@ public class Game {
         player = new Player(playerRace, difficulty);
 
         // Generate map
-        gameMap = new GameMap(difficulty);
+        MapConfig mapConfig = new MapConfig(difficulty);
+        mapConfig.setSeed(seed);
+        gameMap = new GameMap(difficulty, mapConfig, random.split());
+
+        combatManager = new CombatManager(random.split());
+        combatManager.setMode(combatMode);
+        if (battleLogFile != null) {
+            try {
+                battleLog = BattleLog.open(battleLogFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open battle log " + battleLogFile, e);
+            }
+            combatManager.setBattleLog(battleLog);
+        }
+        eventManager = new EventManager(random.split());
+
+        // Construction and training take days
+        jobQueue = new JobQueue(currentDay);
+        player.setJobQueue(jobQueue);
 
         // Place player on the map
         gameMap.placePlayerStart(player);
 
         if (DEBUG_MODE == 1) {
             System.out.println("[DEBUG] Game setup completed. Race: " + playerRace +
-                    ", Difficulty: " + difficulty);
+                    ", Difficulty: " + difficulty + ", Seed: " + seed + ", Combat: " + combatMode);
         }
     }
 
@@ -149,6 +204,12 @@ public class Game {
         while (!isGameOver) {
             // Show day information
             System.out.println("\n========== DAY " + currentDay + " ==========");
+            if (battleLog != null) {
+                battleLog.setDay(currentDay);
+            }
+
+            // Finish construction and training due today
+            jobQueue.advanceTo(currentDay);
 
             // Collect daily resources
             collectResources();
@@ -157,7 +218,7 @@ public class Game {
             showPlayerStatus();
 
             // Show map
-            gameMap.displayMap();
+            gameMap.displayMap(player);
 
             // Player actions
             processPlayerActions();
@@ -207,7 +268,8 @@ public class Game {
             System.out.println("2. Train units");
             System.out.println("3. Attack enemy territory");
             System.out.println("4. View detailed village information");
-            System.out.println("5. End turn");
+            System.out.println("5. Construction and training queue");
+            System.out.println("6. End turn");
             System.out.print("\nYour choice: ");
 
             try {
@@ -227,6 +289,9 @@ public class Game {
                         viewDetailedInfo();
                         break;
                     case 5:
+                        jobQueueMenu();
+                        break;
+                    case 6:
                         endTurn = true;
                         break;
                     default:
@@ -263,6 +328,29 @@ public class Game {
         }
     }
 
+    private void jobQueueMenu() {
+        System.out.println("\n----- CONSTRUCTION AND TRAINING -----");
+        player.displayJobs();
+        if (player.getPendingJobs().isEmpty()) {
+            return;
+        }
+
+        System.out.println("\nEnter a job number to cancel it (full refund), 0 to go back");
+        System.out.print("\nYour choice: ");
+
+        try {
+            int choice = Integer.parseInt(scanner.nextLine());
+            if (choice == 0) {
+                return;
+            }
+
+            player.cancelJob(choice);
+
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a number.");
+        }
+    }
+
     private void trainUnitsMenu() {
         System.out.println("\n----- TRAINING MENU -----");
         System.out.println("Available resources:");
@@ -300,7 +388,7 @@ public class Game {
 
         // Show attackable territories
         System.out.println("\nTerritories you can attack:");
-        boolean hasAttackableTerritory = gameMap.displayAttackableTerritories();
+        boolean hasAttackableTerritory = gameMap.displayAttackableTerritories(player);
 
         if (!hasAttackableTerritory) {
             System.out.println("There are no territories you can attack right now.");
@@ -334,8 +422,21 @@ public class Game {
                 }
             }
 
+            // Forecast the battle before committing the units
+            BattleOdds odds = combatManager.estimateOdds(player.getAttackingUnits(), player.getRace(),
+                    target, BATTLE_FORECAST_SAMPLES);
+            System.out.printf("%nForecast: %.1f%% chance of victory (%.1f%% - %.1f%%), " +
+                            "expected losses %.1f units, enemy losses %.1f units%n",
+                    odds.getWinProbability() * 100, odds.getLowerBound() * 100, odds.getUpperBound() * 100,
+                    odds.getExpectedPlayerLosses(), odds.getExpectedEnemyLosses());
+            System.out.print("Launch the attack? (y/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                player.returnAttackingUnits(new UnitCounts(player.getAttackingUnits()));
+                System.out.println("Attack cancelled.");
+                return;
+            }
+
             // Execute attack
-            CombatManager combatManager = new CombatManager();
             CombatResult result = combatManager.resolveCombat(player, target);
 
             if (result.isPlayerVictory()) {
@@ -365,6 +466,9 @@ public class Game {
         System.out.println("\nTerritories:");
         gameMap.displayPlayerTerritories(player);
 
+        System.out.println("\nRegions:");
+        gameMap.displayRegionSummary(player);
+
         System.out.println("\nPress ENTER to return to the main menu...");
         scanner.nextLine();
     }
@@ -378,7 +482,7 @@ public class Game {
         double attackChance = difficulty.getEnemyAttackChance() *
                 gameMap.getAdjacentEnemyTerritoryCount(player);
 
-        if (Math.random() < attackChance) {
+        if (random.nextDouble() < attackChance) {
             Territory attackingTerritory = gameMap.getRandomAdjacentEnemyTerritory(player);
 
             if (attackingTerritory != null) {
@@ -386,7 +490,6 @@ public class Game {
                 System.out.println("Territory " + attackingTerritory.getId() +
                         " is attacking your territory!");
 
-                CombatManager combatManager = new CombatManager();
                 CombatResult result = combatManager.resolveEnemyAttack(attackingTerritory, player);
 
                 if (result.isPlayerVictory()) {
@@ -422,8 +525,7 @@ public class Game {
         }
 
         // 20% chance of random event each day
-        if (Math.random() < 0.2) {
-            EventManager eventManager = new EventManager();
+        if (random.nextDouble() < 0.2) {
             Event randomEvent = eventManager.generateRandomEvent(difficulty);
 
             System.out.println("\n! ! ! RANDOM EVENT ! ! !");
@@ -458,10 +560,42 @@ public class Game {
 
         System.out.println("\nThank you for playing Village Conquest!");
         System.out.println("========================================");
+
+        if (battleLog != null) {
+            try {
+                battleLog.close();
+                if (DEBUG_MODE == 1) {
+                    System.out.println("[DEBUG] " + battleLog.size() + " battles logged to " + battleLog.getFile());
+                }
+            } catch (IOException e) {
+                System.out.println("Could not write the battle log: " + e.getMessage());
+            }
+        }
     }
 
     public static void main(String[] args) {
-        Game game = new Game();
+        // Optional: --seed <n> to replay a game, --tactical for round-based combat,
+        // --battle-log <file> to record every battle
+        Long seed = null;
+        boolean tactical = false;
+        Path battleLogFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--tactical")) {
+                tactical = true;
+            } else if (args[i].equals("--battle-log") && i + 1 < args.length) {
+                battleLogFile = Path.of(args[++i]);
+            }
+        }
+
+        Game game = seed != null ? new Game(seed) : new Game();
+        if (tactical) {
+            game.setCombatMode(CombatMode.TACTICAL);
+        }
+        if (battleLogFile != null) {
+            game.setBattleLogFile(battleLogFile);
+        }
         game.start();
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.example.map;
+
+// Territory store split into 32x32 chunks that are allocated on first write.
+// Reading an untouched chunk returns zeros, so memory grows with the explored
+// area instead of width x height.
+public class ChunkedTerritoryStore extends TerritoryStore {
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK_SIDE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIDE - 1;
+    private static final int CHUNK_AREA = CHUNK_SIDE * CHUNK_SIDE;
+
+    private final int width;
+    private final int chunkColumns;
+    private final Chunk[] chunks;
+    private int allocatedChunks;
+
+    public ChunkedTerritoryStore(int width, int height) {
+        super(Math.multiplyExact(width, height));
+        this.width = width;
+        this.chunkColumns = (width + CHUNK_MASK) >>> CHUNK_BITS;
+        int chunkRows = (height + CHUNK_MASK) >>> CHUNK_BITS;
+        this.chunks = new Chunk[chunkColumns * chunkRows];
+    }
+
+    public int getAllocatedChunks() { return allocatedChunks; }
+
+    private int chunkIndex(int index) {
+        int x = index % width;
+        int y = index / width;
+        return (y >>> CHUNK_BITS) * chunkColumns + (x >>> CHUNK_BITS);
+    }
+
+    // Position of the territory inside its chunk
+    private int offset(int index) {
+        int x = index % width;
+        int y = index / width;
+        return ((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK);
+    }
+
+    // Chunk for reading, null if never written
+    private Chunk peek(int index) {
+        return chunks[chunkIndex(index)];
+    }
+
+    // Chunk for writing, allocated on demand
+    private Chunk chunk(int index) {
+        int chunkIndex = chunkIndex(index);
+        Chunk chunk = chunks[chunkIndex];
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks[chunkIndex] = chunk;
+            allocatedChunks++;
+        }
+        return chunk;
+    }
+
+    @Override
+    protected int getOwnerIndex(int index) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.ownerIndex[offset(index)];
+    }
+
+    @Override
+    protected void setOwnerIndex(int index, int owner) {
+        chunk(index).ownerIndex[offset(index)] = owner;
+    }
+
+    @Override
+    protected int getDefenderAt(int index, int ordinal) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.defenders[offset(index) * UNIT_TYPE_COUNT + ordinal];
+    }
+
+    @Override
+    protected void setDefenderAt(int index, int ordinal, int count) {
+        chunk(index).defenders[offset(index) * UNIT_TYPE_COUNT + ordinal] = count;
+    }
+
+    @Override
+    public int getDefenseStrength(int index) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.defenseStrength[offset(index)];
+    }
+
+    @Override
+    public void setDefenseStrength(int index, int strength) {
+        chunk(index).defenseStrength[offset(index)] = strength;
+    }
+
+    @Override
+    public int getStoredStone(int index) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.storedStone[offset(index)];
+    }
+
+    @Override
+    public int getStoredWood(int index) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.storedWood[offset(index)];
+    }
+
+    @Override
+    public int getStoredGold(int index) {
+        Chunk chunk = peek(index);
+        return chunk == null ? 0 : chunk.storedGold[offset(index)];
+    }
+
+    @Override
+    public void setStoredResources(int index, int stone, int wood, int gold) {
+        Chunk chunk = chunk(index);
+        int offset = offset(index);
+        chunk.storedStone[offset] = stone;
+        chunk.storedWood[offset] = wood;
+        chunk.storedGold[offset] = gold;
+    }
+
+    @Override
+    public boolean isGenerated(int index) {
+        Chunk chunk = peek(index);
+        if (chunk == null) {
+            return false;
+        }
+        int offset = offset(index);
+        return (chunk.generated[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    @Override
+    public void markGenerated(int index) {
+        int offset = offset(index);
+        chunk(index).generated[offset >>> 6] |= 1L << offset;
+    }
+
+    // Same columns as DenseTerritoryStore, for one 32x32 block
+    private static class Chunk {
+        final int[] ownerIndex = new int[CHUNK_AREA];
+        final int[] defenseStrength = new int[CHUNK_AREA];
+        final int[] storedStone = new int[CHUNK_AREA];
+        final int[] storedWood = new int[CHUNK_AREA];
+        final int[] storedGold = new int[CHUNK_AREA];
+        final int[] defenders = new int[CHUNK_AREA * UNIT_TYPE_COUNT];
+        final long[] generated = new long[CHUNK_AREA / 64];
+    }
+}
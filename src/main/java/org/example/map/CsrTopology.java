@@ -0,0 +1,237 @@
+package org.example.map;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Adjacency in compressed-sparse-row form: the neighbours of territory i
+// are neighbours[offsets[i]] .. neighbours[offsets[i + 1] - 1].
+// Used both to flatten a grid topology and to hold an arbitrary graph.
+public class CsrTopology implements MapTopology {
+    private final int width;
+    private final int height;
+    private final int size;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final MapTopology source;  // Closed-form distances, null for plain graphs
+
+    // BFS distances from the last queried source (graphs only). Replaced as a
+    // whole, so parallel generation never reads a half-built cache
+    private DistanceCache cache;
+
+    private CsrTopology(int width, int height, int size, int[] offsets, int[] neighbours,
+                        MapTopology source) {
+        this.width = width;
+        this.height = height;
+        this.size = size;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.source = source;
+    }
+
+    // Flatten any topology into CSR arrays
+    public static CsrTopology compile(MapTopology topology) {
+        int size = topology.size();
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + topology.degree(i);
+        }
+
+        int[] neighbours = new int[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            int degree = topology.degree(i);
+            for (int k = 0; k < degree; k++) {
+                neighbours[offsets[i] + k] = topology.neighbour(i, k);
+            }
+        }
+
+        return new CsrTopology(topology.getWidth(), topology.getHeight(), size, offsets, neighbours, topology);
+    }
+
+    // Build an undirected graph from an edge list of store indices
+    public static CsrTopology fromEdges(int size, int[] from, int[] to) {
+        int[] degree = new int[size];
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] != to[e]) {
+                degree[from[e]]++;
+                degree[to[e]]++;
+            }
+        }
+
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + degree[i];
+        }
+
+        int[] fill = Arrays.copyOf(offsets, size);
+        int[] neighbours = new int[offsets[size]];
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] != to[e]) {
+                neighbours[fill[from[e]]++] = to[e];
+                neighbours[fill[to[e]]++] = from[e];
+            }
+        }
+
+        // Sort each row and drop duplicate edges
+        int[] compactOffsets = new int[size + 1];
+        int write = 0;
+        for (int i = 0; i < size; i++) {
+            Arrays.sort(neighbours, offsets[i], offsets[i + 1]);
+            compactOffsets[i] = write;
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                if (j == offsets[i] || neighbours[j] != neighbours[j - 1]) {
+                    neighbours[write++] = neighbours[j];
+                }
+            }
+        }
+        compactOffsets[size] = write;
+
+        // Lay the nodes out on a roughly square grid for display
+        int width = (int) Math.ceil(Math.sqrt(size));
+        int height = (size + width - 1) / width;
+        return new CsrTopology(width, height, size, compactOffsets,
+                Arrays.copyOf(neighbours, write), null);
+    }
+
+    // Load a graph file:
+    //   nodes <count>
+    //   <id> <id>        one undirected edge per line, ids are 1-based
+    // Blank lines and lines starting with '#' are ignored.
+    public static CsrTopology load(Path file) throws IOException {
+        int size = -1;
+        int edges = 0;
+        int[] from = new int[64];
+        int[] to = new int[64];
+
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] parts = line.split("\\s+");
+                try {
+                    if (parts[0].equals("nodes")) {
+                        size = Integer.parseInt(parts[1]);
+                        continue;
+                    }
+                    if (size < 0) {
+                        throw new IOException(file + ":" + lineNumber + ": edge before 'nodes' line");
+                    }
+
+                    int a = Integer.parseInt(parts[0]);
+                    int b = Integer.parseInt(parts[1]);
+                    if (a < 1 || a > size || b < 1 || b > size) {
+                        throw new IOException(file + ":" + lineNumber + ": territory id out of range");
+                    }
+
+                    if (edges == from.length) {
+                        from = Arrays.copyOf(from, edges * 2);
+                        to = Arrays.copyOf(to, edges * 2);
+                    }
+                    from[edges] = a - 1;
+                    to[edges] = b - 1;
+                    edges++;
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException(file + ":" + lineNumber + ": malformed line '" + line + "'");
+                }
+            }
+        }
+
+        if (size < 1) {
+            throw new IOException(file + ": missing 'nodes' line");
+        }
+        return fromEdges(size, Arrays.copyOf(from, edges), Arrays.copyOf(to, edges));
+    }
+
+    @Override
+    public int getWidth() { return width; }
+    @Override
+    public int getHeight() { return height; }
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean hasCoordinates() {
+        return source != null && source.hasCoordinates();
+    }
+
+    @Override
+    public boolean hasOffsetRows() {
+        return source != null && source.hasOffsetRows();
+    }
+
+    @Override
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public int neighbour(int index, int k) {
+        return neighbours[offsets[index] + k];
+    }
+
+    @Override
+    public boolean isAdjacent(int index, int other) {
+        for (int j = offsets[index]; j < offsets[index + 1]; j++) {
+            if (neighbours[j] == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int distance(int from, int to) {
+        if (source != null) {
+            return source.distance(from, to);
+        }
+
+        // Plain graph: breadth-first search from 'from', cached for repeated queries
+        DistanceCache current = cache;
+        if (current == null || current.from != from) {
+            current = new DistanceCache(from, breadthFirst(from));
+            cache = current;
+        }
+        return current.distances[to];
+    }
+
+    // Hop distances from one territory, -1 for unreachable ones
+    private int[] breadthFirst(int from) {
+        int[] distances = new int[size];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        distances[from] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int j = offsets[current]; j < offsets[current + 1]; j++) {
+                int next = neighbours[j];
+                if (distances[next] < 0) {
+                    distances[next] = distances[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static final class DistanceCache {
+        final int from;
+        final int[] distances;
+
+        DistanceCache(int from, int[] distances) {
+            this.from = from;
+            this.distances = distances;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.map;
+
+import java.util.Arrays;
+
+// Territory store backed by one dense int[] column per field.
+// Fastest layout when the whole map is generated up front.
+public class DenseTerritoryStore extends TerritoryStore {
+    private final int[] ownerIndex;
+    private final int[] defenseStrength;
+    private final int[] storedStone;
+    private final int[] storedWood;
+    private final int[] storedGold;
+
+    // One row of UNIT_TYPE_COUNT counts per territory, indexed by UnitType.ordinal()
+    private final int[] defenders;
+
+    // Bit per territory
+    private final long[] generated;
+
+    public DenseTerritoryStore(int capacity) {
+        super(capacity);
+        this.ownerIndex = new int[capacity];
+        this.defenseStrength = new int[capacity];
+        this.storedStone = new int[capacity];
+        this.storedWood = new int[capacity];
+        this.storedGold = new int[capacity];
+        this.defenders = new int[Math.multiplyExact(capacity, UNIT_TYPE_COUNT)];
+        this.generated = new long[(capacity + 63) >>> 6];
+    }
+
+    @Override
+    protected int getOwnerIndex(int index) { return ownerIndex[index]; }
+    @Override
+    protected void setOwnerIndex(int index, int owner) { ownerIndex[index] = owner; }
+
+    @Override
+    protected int getDefenderAt(int index, int ordinal) {
+        return defenders[index * UNIT_TYPE_COUNT + ordinal];
+    }
+
+    @Override
+    protected void setDefenderAt(int index, int ordinal, int count) {
+        defenders[index * UNIT_TYPE_COUNT + ordinal] = count;
+    }
+
+    @Override
+    public int getDefenseStrength(int index) { return defenseStrength[index]; }
+    @Override
+    public void setDefenseStrength(int index, int strength) { defenseStrength[index] = strength; }
+    @Override
+    public int getStoredStone(int index) { return storedStone[index]; }
+    @Override
+    public int getStoredWood(int index) { return storedWood[index]; }
+    @Override
+    public int getStoredGold(int index) { return storedGold[index]; }
+
+    @Override
+    public void setStoredResources(int index, int stone, int wood, int gold) {
+        storedStone[index] = stone;
+        storedWood[index] = wood;
+        storedGold[index] = gold;
+    }
+
+    @Override
+    public boolean isGenerated(int index) {
+        return (generated[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public void markGenerated(int index) {
+        generated[index >>> 6] |= 1L << index;
+    }
+
+    @Override
+    public void markAllGenerated() {
+        Arrays.fill(generated, -1L);
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.map;
+
+import java.util.*;
+import org.example.player.Player;
+
+// Cached multi-source BFS distance fields: for every tracked owner, the
+// number of steps from each territory to the nearest territory it owns.
+// Works on any MapTopology. Fields are built on first query and then repaired
+// in place on ownership changes, touching only the territories whose
+// distance actually changes.
+public class DistanceFields implements OwnershipListener {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final GameMap map;
+    private final OwnershipCounters ownership;
+    private final Map<Player, int[]> fields;
+
+    // Scratch space shared by all repairs
+    private int[] queue;
+    private int[] affected;
+    private int[] stamp;
+    private int epoch;
+
+    public DistanceFields(GameMap map, OwnershipCounters ownership) {
+        this.map = map;
+        this.ownership = ownership;
+        this.fields = new IdentityHashMap<>();
+    }
+
+    // Steps from the territory to the owner's nearest territory, -1 if none is reachable - O(1)
+    public int distance(int index, Player owner) {
+        int distance = fieldOf(owner)[index];
+        return distance == UNREACHABLE ? -1 : distance;
+    }
+
+    // Stop maintaining an owner's field
+    public void forget(Player owner) {
+        fields.remove(owner);
+    }
+
+    @Override
+    public void ownerChanged(int index, Player previousOwner, Player newOwner) {
+        int[] previousField = previousOwner != null ? fields.get(previousOwner) : null;
+        if (previousField != null) {
+            removeSource(previousField, index);
+        }
+        int[] newField = newOwner != null ? fields.get(newOwner) : null;
+        if (newField != null) {
+            addSource(newField, index);
+        }
+    }
+
+    private int[] fieldOf(Player owner) {
+        int[] field = fields.get(owner);
+        if (field == null) {
+            field = compute(map.getTopology(), ownership.indices(owner));
+            fields.put(owner, field);
+        }
+        return field;
+    }
+
+    // Full multi-source BFS
+    public static int[] compute(MapTopology topology, int[] sources) {
+        int size = topology.size();
+        int[] distances = new int[size];
+        Arrays.fill(distances, UNREACHABLE);
+
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int source : sources) {
+            if (distances[source] != 0) {
+                distances[source] = 0;
+                queue[tail++] = source;
+            }
+        }
+
+        while (head < tail) {
+            int current = queue[head++];
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (distances[next] == UNREACHABLE) {
+                    distances[next] = distances[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distances;
+    }
+
+    // A new source can only shorten distances: relax outward from it
+    private void addSource(int[] field, int source) {
+        if (field[source] == 0) {
+            return;
+        }
+        MapTopology topology = map.getTopology();
+        ensureScratch(field.length);
+
+        field[source] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (field[next] > field[current] + 1) {
+                    field[next] = field[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    // A removed source can only lengthen distances: find the territories that
+    // lost their only shortest path, then re-grow their distances from the
+    // unaffected border
+    private void removeSource(int[] field, int source) {
+        MapTopology topology = map.getTopology();
+        ensureScratch(field.length);
+        epoch++;
+
+        // 1. Collect affected territories level by level (FIFO keeps levels in order)
+        int affectedCount = 0;
+        affected[affectedCount++] = source;
+        stamp[source] = epoch;
+        for (int i = 0; i < affectedCount; i++) {
+            int current = affected[i];
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (stamp[next] != epoch && field[next] != UNREACHABLE &&
+                        field[next] == field[current] + 1 && !hasSupport(field, topology, next)) {
+                    stamp[next] = epoch;
+                    affected[affectedCount++] = next;
+                }
+            }
+        }
+
+        // 2. Seed each affected territory from its best unaffected neighbour
+        long[] seeds = new long[affectedCount];
+        int seedCount = 0;
+        for (int i = 0; i < affectedCount; i++) {
+            int current = affected[i];
+            field[current] = UNREACHABLE;
+            int best = UNREACHABLE;
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (stamp[next] != epoch && field[next] != UNREACHABLE) {
+                    best = Math.min(best, field[next] + 1);
+                }
+            }
+            if (best != UNREACHABLE) {
+                seeds[seedCount++] = ((long) best << 32) | current;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        // 3. BFS inside the affected region, merging sorted seeds with the FIFO queue
+        int head = 0;
+        int tail = 0;
+        int nextSeed = 0;
+        while (nextSeed < seedCount || head < tail) {
+            int current;
+            if (head < tail && (nextSeed == seedCount || field[queue[head]] <= (int)(seeds[nextSeed] >>> 32))) {
+                current = queue[head++];
+            } else {
+                int distance = (int)(seeds[nextSeed] >>> 32);
+                current = (int) seeds[nextSeed++];
+                if (field[current] <= distance) {
+                    continue;
+                }
+                field[current] = distance;
+            }
+
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (stamp[next] == epoch && field[next] > field[current] + 1) {
+                    field[next] = field[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    // Whether a territory still has an unaffected neighbour one step closer
+    private boolean hasSupport(int[] field, MapTopology topology, int index) {
+        int degree = topology.degree(index);
+        for (int k = 0; k < degree; k++) {
+            int next = topology.neighbour(index, k);
+            if (stamp[next] != epoch && field[next] == field[index] - 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureScratch(int size) {
+        if (queue == null || queue.length < size) {
+            queue = new int[size];
+            affected = new int[size];
+            stamp = new int[size];
+            epoch = 0;
+        }
+    }
+
+    // Compare every cached field with a full recomputation (for tests and debugging)
+    public void verify() {
+        for (Map.Entry<Player, int[]> entry : fields.entrySet()) {
+            int[] expected = compute(map.getTopology(), ownership.indices(entry.getKey()));
+            if (!Arrays.equals(expected, entry.getValue())) {
+                throw new IllegalStateException("Distance field out of date");
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.map;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+import org.example.player.Player;
+
+// Keeps, for every owner, the set of unowned territories adjacent to it.
+// Updated in place on every ownership change, so queries never scan the map.
+public class FrontierIndex implements OwnershipListener {
+    private final GameMap map;
+    private final TerritoryStore store;
+    private final Map<Player, IndexSet> frontiers;
+
+    public FrontierIndex(GameMap map, TerritoryStore store) {
+        this.map = map;
+        this.store = store;
+        this.frontiers = new IdentityHashMap<>();
+    }
+
+    @Override
+    public void ownerChanged(int index, Player previousOwner, Player newOwner) {
+        if (newOwner != null) {
+            frontierOf(newOwner);
+        }
+
+        // The territory itself enters or leaves every frontier
+        for (Map.Entry<Player, IndexSet> entry : frontiers.entrySet()) {
+            refresh(index, entry.getKey(), entry.getValue());
+        }
+
+        // Neighbours only change for the two owners involved
+        MapTopology topology = map.getTopology();
+        int degree = topology.degree(index);
+        for (int k = 0; k < degree; k++) {
+            int adjacent = topology.neighbour(index, k);
+            if (previousOwner != null) {
+                refresh(adjacent, previousOwner, frontiers.get(previousOwner));
+            }
+            if (newOwner != null) {
+                refresh(adjacent, newOwner, frontiers.get(newOwner));
+            }
+        }
+    }
+
+    // Re-evaluate whether one territory belongs to an owner's frontier
+    private void refresh(int index, Player owner, IndexSet frontier) {
+        if (isFrontier(index, owner)) {
+            // Reaching the frontier is what generates tiles on chunked maps
+            map.touch(index);
+            frontier.add(index);
+        } else {
+            frontier.remove(index);
+        }
+    }
+
+    private boolean isFrontier(int index, Player owner) {
+        if (store.getOwner(index) != null) {
+            return false;
+        }
+        MapTopology topology = map.getTopology();
+        int degree = topology.degree(index);
+        for (int k = 0; k < degree; k++) {
+            if (store.getOwner(topology.neighbour(index, k)) == owner) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IndexSet frontierOf(Player owner) {
+        IndexSet frontier = frontiers.get(owner);
+        if (frontier == null) {
+            frontier = new IndexSet(store.getCapacity());
+            frontiers.put(owner, frontier);
+        }
+        return frontier;
+    }
+
+    // Number of unowned territories adjacent to the owner - O(1)
+    public int size(Player owner) {
+        IndexSet frontier = frontiers.get(owner);
+        return frontier == null ? 0 : frontier.size();
+    }
+
+    // Uniformly random frontier territory id, or -1 if the frontier is empty - O(1)
+    public int randomId(Player owner, RandomGenerator random) {
+        IndexSet frontier = frontiers.get(owner);
+        if (frontier == null || frontier.size() == 0) {
+            return -1;
+        }
+        return frontier.get(random.nextInt(frontier.size())) + 1;
+    }
+
+    // Frontier territory ids in ascending order - O(frontier size log frontier size)
+    public int[] ids(Player owner) {
+        IndexSet frontier = frontiers.get(owner);
+        if (frontier == null) {
+            return new int[0];
+        }
+        int[] ids = new int[frontier.size()];
+        for (int i = 0; i < frontier.size(); i++) {
+            ids[i] = frontier.get(i) + 1;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+}
@@ -1,6 +1,10 @@
 package org.example.map;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.random.RandomGenerator;
 import org.example.combat.CombatManager;
 import org.example.combat.CombatResult;
 import org.example.map.GameMap;
@@ -11,116 +15,186 @@ import org.example.model.UnitType;
 import org.example.player.Player;
 import org.example.utils.Event;
 import org.example.utils.EventManager;
+import org.example.utils.GameRandom;
 
-public class GameMap {
+// Final: the constructor hands "this" to the indexes and renderer it registers
+public final class GameMap {
     private static final int DEBUG_MODE = 1;
 
-    private Map<Integer, Territory> territories;
+    private TerritoryStore store;
+    private MapTopology topology;
+    private TerritoryGenerator generator;
+    private FrontierIndex frontier;
+    private OwnershipCounters ownership;
+    private DistanceFields distances;
+    private MapRenderer renderer;
+    private RegionIndex regions;  // Built on first regional query
+    private boolean consistencyChecks;  // Cross-check counters with full scans (tests)
     private int width;
     private int height;
+    private boolean chunked;
     private int playerStartingTerritory;
     private DifficultyLevel difficulty;
+    private RandomGenerator random;
 
     public GameMap(DifficultyLevel difficulty) {
+        this(difficulty, new MapConfig(difficulty));
+    }
+
+    public GameMap(DifficultyLevel difficulty, MapConfig config) {
+        this(difficulty, config, null);
+    }
+
+    // 'random' drives in-game choices on the map; null derives it from the map seed
+    public GameMap(DifficultyLevel difficulty, MapConfig config, RandomGenerator random) {
         this.difficulty = difficulty;
-        initializeMap();
+        this.random = random;
+        initializeMap(config);
     }
 
     // Initialize the map with territories
-    private void initializeMap() {
+    private void initializeMap(MapConfig config) {
         if (DEBUG_MODE == 1) {
             System.out.println("[DEBUG] Initializing game map");
         }
 
-        territories = new HashMap<>();
-
-        // Map dimensions based on difficulty
-        switch (difficulty) {
-            case EASY:
-                width = 5;
-                height = 5;
-                break;
-            case NORMAL:
-                width = 6;
-                height = 6;
-                break;
-            case HARD:
-                width = 7;
-                height = 7;
-                break;
-            default:
-                width = 5;
-                height = 5;
+        // Eager maps flatten their adjacency into CSR arrays; chunked maps keep
+        // the closed-form grid so nothing is allocated for unexplored areas
+        chunked = config.isChunked();
+        MapTopology shape = config.getTopology();
+        topology = chunked || shape instanceof CsrTopology ? shape : CsrTopology.compile(shape);
+        width = topology.getWidth();
+        height = topology.getHeight();
+        long seed = config.getSeed();
+        boolean reopened = false;
+
+        // Chunked maps allocate and generate tiles only when first touched
+        if (config.getWorldFile() != null) {
+            MappedTerritoryStore mapped = openWorldFile(config);
+            reopened = mapped.isGenerated(0);
+            seed = mapped.getSeed();
+            store = mapped;
+        } else if (chunked) {
+            store = new ChunkedTerritoryStore(width, height);
+        } else {
+            store = new DenseTerritoryStore(topology.size());
         }
-
-        // Create territories
-        int id = 1;
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                String name = "Territory " + id;
-                Territory territory = new Territory(id, name);
-                territories.put(id, territory);
-                id++;
-            }
+        generator = new TerritoryGenerator(seed, difficulty);
+        if (random == null) {
+            random = GameRandom.create(seed);
         }
 
-        // Set adjacent territories (grid-based)
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int currentId = y * width + x + 1;
-                Territory current = territories.get(currentId);
-
-                // Check 4 directions (up, right, down, left)
-                if (y > 0) {  // Up
-                    int upId = (y - 1) * width + x + 1;
-                    current.addAdjacentTerritory(upId);
-                }
-                if (x < width - 1) {  // Right
-                    int rightId = y * width + (x + 1) + 1;
-                    current.addAdjacentTerritory(rightId);
-                }
-                if (y < height - 1) {  // Down
-                    int downId = (y + 1) * width + x + 1;
-                    current.addAdjacentTerritory(downId);
-                }
-                if (x > 0) {  // Left
-                    int leftId = y * width + (x - 1) + 1;
-                    current.addAdjacentTerritory(leftId);
-                }
-            }
-        }
+        // Track attackable territories as ownership changes
+        frontier = new FrontierIndex(this, store);
+        store.addOwnershipListener(frontier);
+
+        // Track how many territories each owner holds
+        ownership = new OwnershipCounters(store);
+        store.addOwnershipListener(ownership);
+
+        // Keep zoomed-out block counts in step with ownership
+        renderer = new MapRenderer(this, store, ownership);
+        store.addOwnershipListener(renderer);
 
         // Set player starting territory (top-left corner)
         playerStartingTerritory = 1;
 
-        // Setup defending units based on distance from start
-        for (Territory territory : territories.values()) {
-            if (territory.getId() != playerStartingTerritory) {
-                int distance = calculateDistance(territory.getId(), playerStartingTerritory);
-                territory.setupDefendingUnits(difficulty, distance);
-            }
+        // Generate every territory up front, in parallel, unless the map is chunked
+        // or was reopened from a world file
+        if (!chunked && !reopened) {
+            ParallelWorldGenerator worldGenerator = new ParallelWorldGenerator(generator, width, height,
+                    index -> calculateDistance(playerStartingTerritory, index + 1));
+            worldGenerator.generate(store);
         }
 
         if (DEBUG_MODE == 1) {
-            System.out.println("[DEBUG] Map initialized with " + territories.size() + " territories");
+            System.out.println("[DEBUG] Map initialized with " + getTotalTerritories() + " territories" +
+                    (chunked ? " (chunked, seed " + config.getSeed() + ")" : ""));
             System.out.println("[DEBUG] Player starting at territory " + playerStartingTerritory);
         }
     }
 
-    // Calculate Manhattan distance between two territory IDs
-    private int calculateDistance(int id1, int id2) {
-        int x1 = (id1 - 1) % width;
-        int y1 = (id1 - 1) / width;
+    // Create or reopen the memory-mapped world file
+    private MappedTerritoryStore openWorldFile(MapConfig config) {
+        try {
+            if (!Files.exists(config.getWorldFile())) {
+                return MappedTerritoryStore.create(config.getWorldFile(), topology.size(),
+                        width, height, config.getSeed());
+            }
+
+            MappedTerritoryStore mapped = MappedTerritoryStore.open(config.getWorldFile());
+            if (mapped.getCapacity() != topology.size() || mapped.getWidth() != width ||
+                    mapped.getHeight() != height) {
+                mapped.close();
+                throw new IllegalArgumentException("World file " + config.getWorldFile() +
+                        " does not match the configured map size");
+            }
 
-        int x2 = (id2 - 1) % width;
-        int y2 = (id2 - 1) / width;
+            if (DEBUG_MODE == 1) {
+                System.out.println("[DEBUG] Reopened world file " + config.getWorldFile());
+            }
+            return mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open world file " + config.getWorldFile(), e);
+        }
+    }
 
-        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
+    // Re-attach the players of a reopened world file, in their original registration order
+    public void restoreOwners(List<Player> players) {
+        store.restoreOwners(players);
+    }
+
+    // Write the map to its world file, if it has one
+    public void save() {
+        store.flush();
+    }
+
+    // Release the world file, if any
+    public void close() {
+        if (store instanceof MappedTerritoryStore) {
+            try {
+                ((MappedTerritoryStore) store).close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Generate a territory's contents from the world seed
+    private void generateTerritory(int index) {
+        int x = index % width;
+        int y = index / width;
+        int distance = calculateDistance(playerStartingTerritory, index + 1);
+        generator.generate(store, index, x, y, distance);
+    }
+
+    // Make sure a territory exists before it is handed out
+    void touch(int index) {
+        if (!store.isGenerated(index)) {
+            generateTerritory(index);
+        }
+    }
+
+    // View of the territory at the given store index, generating it if needed
+    Territory territoryAt(int index) {
+        touch(index);
+        return new Territory(this, store, index + 1);
+    }
+
+    // Adjacency of the map (store indices)
+    public MapTopology getTopology() {
+        return topology;
+    }
+
+    // Calculate distance in steps between two territory IDs. Graph topologies
+    // cache the search from id1, so pass the fixed endpoint first
+    private int calculateDistance(int id1, int id2) {
+        return topology.distance(id1 - 1, id2 - 1);
     }
 
     // Place player on starting territory
     public void placePlayerStart(Player player) {
-        Territory startTerritory = territories.get(playerStartingTerritory);
+        Territory startTerritory = territoryAt(playerStartingTerritory - 1);
         startTerritory.captureBy(player);
         player.setCurrentTerritory(startTerritory);
 
@@ -129,73 +203,40 @@ public class GameMap {
         }
     }
 
-    // Display the entire map
-    public void displayMap() {
-        System.out.println("\n----- MAP -----");
+    // Display the part of the map around the player's current territory
+    public void displayMap(Player player) {
+        Territory current = player != null ? player.getCurrentTerritory() : null;
+        int centre = current != null ? current.getId() - 1 : playerStartingTerritory - 1;
+        renderer.render(centre, System.out);
+    }
 
-        // Display column headers
-        System.out.print("   ");
-        for (int x = 0; x < width; x++) {
-            System.out.print(" " + (x + 1) + "  ");
-        }
-        System.out.println();
-
-        // Display grid
-        for (int y = 0; y < height; y++) {
-            // Row header
-            System.out.print(" " + (char)('A' + y) + " ");
-
-            // Territories in this row
-            for (int x = 0; x < width; x++) {
-                int id = y * width + x + 1;
-                Territory territory = territories.get(id);
-
-                if (territory.getOwner() != null) {
-                    // Player-owned territory
-                    System.out.print("[P] ");
-                } else {
-                    // Enemy/neutral territory
-                    System.out.print("[" + id + "] ");
-                }
-            }
-            System.out.println();
-        }
-        System.out.println("Legend: [P] = Player-owned, [#] = Enemy territory ID");
+    // Size of the map window, in cells
+    public void setViewport(int columns, int rows) {
+        renderer.setViewport(columns, rows);
+    }
+
+    // Tiles per map cell side; above 1 each cell summarises a block of tiles
+    public void setZoom(int zoom) {
+        renderer.setZoom(zoom);
     }
 
-    // Display attackable territories
-    public boolean displayAttackableTerritories() {
-        boolean hasAttackable = false;
+    // Display attackable territories (the player's frontier)
+    public boolean displayAttackableTerritories(Player player) {
         System.out.println("Territories you can attack:");
 
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == null && isAdjacentToPlayerTerritory(territory)) {
-                hasAttackable = true;
-                System.out.println(territory.getId() + ". " + territory.getName() +
-                        " (Estimated Defense: " + estimateDefenseStrength(territory) + ")");
-            }
+        int[] attackableIds = frontier.ids(player);
+        for (int id : attackableIds) {
+            Territory territory = territoryAt(id - 1);
+            System.out.println(territory.getId() + ". " + territory.getName() +
+                    " (Estimated Defense: " + estimateDefenseStrength(territory) + ")");
         }
 
-        return hasAttackable;
-    }
-
-    // Check if a territory is adjacent to any player-owned territory
-    private boolean isAdjacentToPlayerTerritory(Territory territory) {
-        for (int adjId : territory.getAdjacentTerritories()) {
-            Territory adjacent = territories.get(adjId);
-            if (adjacent != null && adjacent.getOwner() != null) {
-                return true;
-            }
-        }
-        return false;
+        return attackableIds.length > 0;
     }
 
     // Estimate defense strength (for display purposes)
     private String estimateDefenseStrength(Territory territory) {
-        int totalUnits = 0;
-        for (int count : territory.getDefendingUnits().values()) {
-            totalUnits += count;
-        }
+        int totalUnits = territory.getTotalDefendingUnits();
 
         if (totalUnits < 10) {
             return "Weak";
@@ -210,12 +251,15 @@ public class GameMap {
 
     // Get territory by ID
     public Territory getTerritoryById(int id) {
-        return territories.get(id);
+        if (id < 1 || id > getTotalTerritories()) {
+            return null;
+        }
+        return territoryAt(id - 1);
     }
 
     // Capture a territory
     public void captureTerritory(int id, Player player) {
-        Territory territory = territories.get(id);
+        Territory territory = getTerritoryById(id);
         if (territory != null) {
             territory.captureBy(player);
 
@@ -227,7 +271,7 @@ public class GameMap {
 
     // Lose a territory
     public void loseTerritory(int id) {
-        Territory territory = territories.get(id);
+        Territory territory = getTerritoryById(id);
         if (territory != null) {
             territory.captureBy(null);  // Set owner to null
 
@@ -239,87 +283,111 @@ public class GameMap {
 
     // Get count of player-owned territories
     public int getPlayerTerritoryCount(Player player) {
-        int count = 0;
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == player) {
-                count++;
-            }
-        }
-        return count;
+        checkConsistency();
+        return ownership.count(player);
     }
 
     // Get total number of territories
     public int getTotalTerritories() {
-        return territories.size();
+        return topology.size();
     }
 
     // Check if the entire map is conquered
     public boolean isMapConquered(Player player) {
-        return getPlayerTerritoryCount(player) == territories.size();
+        checkConsistency();
+        return getPlayerTerritoryCount(player) == getTotalTerritories();
     }
 
     // Get first player territory (used when current territory is lost)
     public Territory getFirstPlayerTerritory(Player player) {
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == player) {
-                return territory;
-            }
-        }
-        return null;
+        checkConsistency();
+        int index = ownership.anyIndex(player);
+        return index < 0 ? null : territoryAt(index);
     }
 
-    // Display player territories
-    public void displayPlayerTerritories(Player player) {
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == player) {
-                System.out.println(territory.getId() + ". " + territory.getName());
+    // Enable full-scan verification of the ownership counters on every query
+    public void setConsistencyChecks(boolean enabled) {
+        this.consistencyChecks = enabled;
+    }
+
+    private void checkConsistency() {
+        if (consistencyChecks) {
+            ownership.verify();
+            if (distances != null) {
+                distances.verify();
             }
         }
     }
 
-    // Get number of adjacent enemy territories
-    public int getAdjacentEnemyTerritoryCount(Player player) {
-        Set<Integer> adjacentEnemies = new HashSet<>();
-
-        // Find all player territories
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == player) {
-                // Check all adjacent territories
-                for (int adjId : territory.getAdjacentTerritories()) {
-                    Territory adjacent = territories.get(adjId);
-                    if (adjacent != null && adjacent.getOwner() == null) {
-                        adjacentEnemies.add(adjId);
-                    }
-                }
-            }
+    // Steps from a territory to the player's nearest territory, -1 if unreachable - O(1)
+    // The fields are created and start listening on the first call, so maps
+    // that never ask pay nothing per ownership change
+    public int getDistanceToPlayer(int territoryId, Player player) {
+        checkConsistency();
+        if (distances == null) {
+            distances = new DistanceFields(this, ownership);
+            store.addOwnershipListener(distances);
         }
+        return distances.distance(territoryId - 1, player);
+    }
 
-        return adjacentEnemies.size();
+    // Aggregate defender and ownership statistics by region, built with one scan
+    // on first use and then kept up to date by the store listeners
+    public RegionIndex getRegionIndex() {
+        if (regions == null) {
+            regions = new RegionIndex(this, store, ownership);
+            store.addOwnershipListener(regions);
+            store.addGarrisonListener(regions);
+        }
+        return regions;
     }
 
-    // Get a random adjacent enemy territory
-    public Territory getRandomAdjacentEnemyTerritory(Player player) {
-        List<Territory> adjacentEnemies = new ArrayList<>();
-
-        // Find all player territories
-        for (Territory territory : territories.values()) {
-            if (territory.getOwner() == player) {
-                // Check all adjacent territories
-                for (int adjId : territory.getAdjacentTerritories()) {
-                    Territory adjacent = territories.get(adjId);
-                    if (adjacent != null && adjacent.getOwner() == null) {
-                        adjacentEnemies.add(adjacent);
-                    }
-                }
+    // Display defenders and owned territories per map quadrant
+    public void displayRegionSummary(Player player) {
+        if (!topology.hasCoordinates()) {
+            return;
+        }
+
+        RegionIndex index = getRegionIndex();
+        int midX = width / 2;
+        int midY = height / 2;
+        String[] names = {"North-west", "North-east", "South-west", "South-east"};
+        int[][] bounds = {
+                {0, 0, midX - 1, midY - 1}, {midX, 0, width - 1, midY - 1},
+                {0, midY, midX - 1, height - 1}, {midX, midY, width - 1, height - 1}
+        };
+
+        for (int q = 0; q < names.length; q++) {
+            int[] b = bounds[q];
+            System.out.println(names[q] + ": " + index.countOwned(player, b[0], b[1], b[2], b[3]) +
+                    " owned, " + index.sumDefenders(b[0], b[1], b[2], b[3]) + " defending units");
+        }
+
+        int home = ownership.anyIndex(player);
+        if (home >= 0) {
+            int strongest = index.strongestWithin(home, 3);
+            if (strongest > 0) {
+                System.out.println("Strongest garrison within 3 steps: territory " + strongest +
+                        " (" + store.getTotalDefenders(strongest - 1) + " units)");
             }
         }
+    }
 
-        if (adjacentEnemies.isEmpty()) {
-            return null;
+    // Display player territories
+    public void displayPlayerTerritories(Player player) {
+        for (int index : ownership.indices(player)) {
+            System.out.println((index + 1) + ". " + store.getName(index));
         }
+    }
+
+    // Get number of adjacent enemy territories
+    public int getAdjacentEnemyTerritoryCount(Player player) {
+        return frontier.size(player);
+    }
 
-        // Return a random enemy territory
-        int randomIndex = (int)(Math.random() * adjacentEnemies.size());
-        return adjacentEnemies.get(randomIndex);
+    // Get a random adjacent enemy territory
+    public Territory getRandomAdjacentEnemyTerritory(Player player) {
+        int randomId = frontier.randomId(player, random);
+        return randomId < 0 ? null : territoryAt(randomId - 1);
     }
 }
\ No newline at end of file
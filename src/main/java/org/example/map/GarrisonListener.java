@@ -0,0 +1,7 @@
+package org.example.map;
+
+// Notified by TerritoryStore whenever a territory's defending units change
+@FunctionalInterface
+public interface GarrisonListener {
+    void garrisonChanged(int index);
+}
@@ -0,0 +1,68 @@
+package org.example.map;
+
+// Hexagonal grid in "odd-r" layout: odd rows are shifted half a tile right
+public class HexTopology implements MapTopology {
+    // Right, left, then the two tiles above and the two below
+    private static final int[] DX_EVEN = {1, -1, -1, 0, -1, 0};
+    private static final int[] DX_ODD = {1, -1, 0, 1, 0, 1};
+    private static final int[] DY = {0, 0, -1, -1, 1, 1};
+
+    private final int width;
+    private final int height;
+
+    public HexTopology(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public boolean hasOffsetRows() { return true; }
+
+    @Override
+    public int degree(int index) {
+        int count = 0;
+        for (int d = 0; d < DY.length; d++) {
+            if (inside(index, d)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int neighbour(int index, int k) {
+        for (int d = 0; d < DY.length; d++) {
+            if (inside(index, d) && k-- == 0) {
+                int y = index / width;
+                int[] dx = (y & 1) == 0 ? DX_EVEN : DX_ODD;
+                return index + DY[d] * width + dx[d];
+            }
+        }
+        throw new IndexOutOfBoundsException("Territory " + (index + 1) + " has no neighbour " + k);
+    }
+
+    private boolean inside(int index, int direction) {
+        int y = index / width;
+        int[] dx = (y & 1) == 0 ? DX_EVEN : DX_ODD;
+        int nx = index % width + dx[direction];
+        int ny = y + DY[direction];
+        return nx >= 0 && nx < width && ny >= 0 && ny < height;
+    }
+
+    @Override
+    public int distance(int from, int to) {
+        // Convert offset coordinates to axial and use the cube distance
+        int r1 = from / width;
+        int q1 = from % width - (r1 - (r1 & 1)) / 2;
+        int r2 = to / width;
+        int q2 = to % width - (r2 - (r2 & 1)) / 2;
+        int dq = q1 - q2;
+        int dr = r1 - r2;
+        return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.map;
+
+import java.util.*;
+
+// Set of territory indices with O(1) add, remove, size and random pick.
+// The index -> slot table is paged so sparse sets on huge maps stay small.
+class IndexSet {
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private int[] members;
+    private final int[][] positionPages;  // index -> slot in members + 1, 0 = absent
+    private int size;
+
+    IndexSet(int capacity) {
+        this.members = new int[16];
+        this.positionPages = new int[(capacity + PAGE_MASK) >>> PAGE_BITS][];
+    }
+
+    private int position(int index) {
+        int[] page = positionPages[index >>> PAGE_BITS];
+        return page == null ? 0 : page[index & PAGE_MASK];
+    }
+
+    private void setPosition(int index, int position) {
+        int[] page = positionPages[index >>> PAGE_BITS];
+        if (page == null) {
+            page = new int[PAGE_MASK + 1];
+            positionPages[index >>> PAGE_BITS] = page;
+        }
+        page[index & PAGE_MASK] = position;
+    }
+
+    void add(int index) {
+        if (position(index) != 0) {
+            return;
+        }
+        if (size == members.length) {
+            members = Arrays.copyOf(members, size * 2);
+        }
+        members[size] = index;
+        size++;
+        setPosition(index, size);
+    }
+
+    void remove(int index) {
+        int slot = position(index) - 1;
+        if (slot < 0) {
+            return;
+        }
+        // Move the last member into the freed slot
+        int last = members[size - 1];
+        members[slot] = last;
+        setPosition(last, slot + 1);
+        setPosition(index, 0);
+        size--;
+    }
+
+    boolean contains(int index) {
+        return position(index) != 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Member stored in the given slot (0 <= slot < size)
+    int get(int slot) {
+        return members[slot];
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.map;
+
+import java.nio.file.Path;
+import org.example.model.DifficultyLevel;
+
+// Settings used to build a GameMap. Defaults follow the difficulty level.
+public class MapConfig {
+    private int width;
+    private int height;
+    private long seed;
+    private boolean chunked;  // Generate tiles lazily on first touch
+    private MapTopology topology;  // null = square grid with 4 neighbours
+    private Path worldFile;  // null = keep the map on the heap
+
+    public MapConfig(DifficultyLevel difficulty) {
+        // Map dimensions based on difficulty
+        switch (difficulty) {
+            case EASY:
+                width = 5;
+                height = 5;
+                break;
+            case NORMAL:
+                width = 6;
+                height = 6;
+                break;
+            case HARD:
+                width = 7;
+                height = 7;
+                break;
+            default:
+                width = 5;
+                height = 5;
+        }
+
+        this.seed = System.nanoTime();
+        this.chunked = false;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getSeed() { return seed; }
+    public boolean isChunked() { return chunked; }
+    public Path getWorldFile() { return worldFile; }
+
+    // Topology of the map; a custom topology overrides the configured size
+    public MapTopology getTopology() {
+        return topology != null ? topology : new SquareTopology(width, height, false);
+    }
+
+    public void setSize(int width, int height) {
+        if (width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid map size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    public void setSeed(long seed) { this.seed = seed; }
+    public void setChunked(boolean chunked) { this.chunked = chunked; }
+    public void setTopology(MapTopology topology) { this.topology = topology; }
+    // Store territories in a memory-mapped file (created if missing, reopened otherwise)
+    public void setWorldFile(Path worldFile) { this.worldFile = worldFile; }
+}
@@ -0,0 +1,198 @@
+package org.example.map;
+
+import java.io.PrintStream;
+import org.example.player.Player;
+
+// Draws a window of the map around a territory into one reusable buffer and
+// prints it with a single call. Only the cells inside the viewport are read,
+// so a frame costs the same on a 7x7 map and on a 10^6-tile one.
+// When zoomed out, owned-tile counts per block are kept up to date from
+// ownership changes, so a glyph reads one counter instead of zoom x zoom tiles.
+public class MapRenderer implements OwnershipListener {
+    private final GameMap map;
+    private final TerritoryStore store;
+    private final OwnershipCounters ownership;
+    private final StringBuilder buffer;
+    private int viewColumns;
+    private int viewRows;
+    private int zoom;  // Tiles per glyph side; 1 = one cell per territory
+
+    // Owned tiles per zoom x zoom block, row-major; null at zoom 1
+    private int[] blockOwned;
+    private int blockColumns;
+
+    public MapRenderer(GameMap map, TerritoryStore store, OwnershipCounters ownership) {
+        this.map = map;
+        this.store = store;
+        this.ownership = ownership;
+        this.buffer = new StringBuilder(1024);
+        this.viewColumns = 12;
+        this.viewRows = 10;
+        this.zoom = 1;
+    }
+
+    public void setViewport(int columns, int rows) {
+        if (columns < 1 || rows < 1) {
+            throw new IllegalArgumentException("Viewport must be at least 1x1");
+        }
+        this.viewColumns = columns;
+        this.viewRows = rows;
+    }
+
+    public void setZoom(int zoom) {
+        if (zoom < 1) {
+            throw new IllegalArgumentException("Zoom must be at least 1");
+        }
+        this.zoom = zoom;
+        buildBlockCounts();
+    }
+
+    // Count owned tiles per block from the owned sets - O(owned + blocks)
+    private void buildBlockCounts() {
+        if (zoom == 1) {
+            blockOwned = null;
+            return;
+        }
+        MapTopology topology = map.getTopology();
+        blockColumns = (topology.getWidth() + zoom - 1) / zoom;
+        int blockRows = (topology.getHeight() + zoom - 1) / zoom;
+        int[] counts = new int[Math.multiplyExact(blockColumns, blockRows)];
+        ownership.forEachOwned(index -> counts[blockOf(index)]++);
+        blockOwned = counts;
+    }
+
+    private int blockOf(int index) {
+        int width = map.getTopology().getWidth();
+        return index / width / zoom * blockColumns + index % width / zoom;
+    }
+
+    @Override
+    public void ownerChanged(int index, Player previousOwner, Player newOwner) {
+        if (blockOwned == null) {
+            return;
+        }
+        if (previousOwner == null && newOwner != null) {
+            blockOwned[blockOf(index)]++;
+        } else if (previousOwner != null && newOwner == null) {
+            blockOwned[blockOf(index)]--;
+        }
+    }
+
+    public int getZoom() { return zoom; }
+
+    // Render the viewport centred on the given store index
+    public void render(int centreIndex, PrintStream out) {
+        MapTopology topology = map.getTopology();
+        int width = topology.getWidth();
+        int height = topology.getHeight();
+        int size = topology.size();
+
+        // Viewport in glyphs, clamped to the map
+        int glyphColumns = (width + zoom - 1) / zoom;
+        int glyphRows = (height + zoom - 1) / zoom;
+        int columns = Math.min(viewColumns, glyphColumns);
+        int rows = Math.min(viewRows, glyphRows);
+        int left = clamp(centreIndex % width / zoom - columns / 2, glyphColumns - columns);
+        int top = clamp(centreIndex / width / zoom - rows / 2, glyphRows - rows);
+        boolean hex = topology.hasOffsetRows() && zoom == 1;
+
+        buffer.setLength(0);
+        buffer.append("\n----- MAP -----");
+        if (columns < glyphColumns || rows < glyphRows || zoom > 1) {
+            buffer.append(" (columns ").append(left * zoom + 1).append('-')
+                    .append(Math.min(width, (left + columns) * zoom))
+                    .append(", rows ").append(top * zoom + 1).append('-')
+                    .append(Math.min(height, (top + rows) * zoom))
+                    .append(" of ").append(width).append('x').append(height).append(')');
+        }
+        buffer.append('\n');
+
+        // Column headers
+        buffer.append("   ");
+        for (int gx = left; gx < left + columns; gx++) {
+            buffer.append(' ').append(gx * zoom + 1).append("  ");
+        }
+        buffer.append('\n');
+
+        // Grid
+        for (int gy = top; gy < top + rows; gy++) {
+            // Row header
+            appendRowLabel(gy * zoom, height);
+            if (hex && (gy & 1) == 1) {
+                buffer.append("  ");
+            }
+
+            for (int gx = left; gx < left + columns; gx++) {
+                if (zoom == 1) {
+                    int index = gy * width + gx;
+                    if (index >= size) {
+                        break;
+                    }
+                    appendTile(index);
+                } else {
+                    appendBlock(gx, gy, width, height, size);
+                }
+            }
+            buffer.append('\n');
+        }
+
+        if (zoom == 1) {
+            buffer.append("Legend: [P] = Player-owned, [#] = Enemy territory ID\n");
+        } else {
+            buffer.append("Legend: [P] = all owned, [p] = partly owned, [.] = enemy (")
+                    .append(zoom).append('x').append(zoom).append(" tiles per cell)\n");
+        }
+
+        out.print(buffer);
+        out.flush();
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, Math.max(0, max)));
+    }
+
+    private void appendRowLabel(int y, int height) {
+        buffer.append(' ');
+        if (height <= 26) {
+            buffer.append((char)('A' + y));
+        } else {
+            buffer.append(y + 1);
+        }
+        buffer.append(' ');
+    }
+
+    private void appendTile(int index) {
+        map.touch(index);
+        if (store.getOwner(index) != null) {
+            // Player-owned territory
+            buffer.append("[P] ");
+        } else {
+            // Enemy/neutral territory
+            buffer.append('[').append(index + 1).append("] ");
+        }
+    }
+
+    // One glyph summarising a zoom x zoom block (ownership only, nothing is generated)
+    private void appendBlock(int gx, int gy, int width, int height, int size) {
+        int x0 = gx * zoom;
+        int y0 = gy * zoom;
+        int columns = Math.min(width, x0 + zoom) - x0;
+        int rows = Math.min(height, y0 + zoom) - y0;
+        int total = columns * rows;
+
+        // Graph layouts may leave the last row partly empty
+        if (y0 + rows == height) {
+            int lastRowTiles = size - (height - 1) * width;
+            total -= Math.max(0, x0 + columns - Math.max(x0, lastRowTiles));
+        }
+        int owned = blockOwned[gy * blockColumns + gx];
+
+        if (owned > 0 && owned == total) {
+            buffer.append("[P] ");
+        } else if (owned > 0) {
+            buffer.append("[p] ");
+        } else {
+            buffer.append("[.] ");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.map;
+
+// Shape of the map: which territories touch which.
+// Territories are addressed by store index (id - 1) and laid out on a
+// width x height grid for display and coordinate-based generation.
+public interface MapTopology {
+    int getWidth();
+    int getHeight();
+
+    // Number of territories
+    default int size() {
+        return getWidth() * getHeight();
+    }
+
+    // Number of neighbours of a territory
+    int degree(int index);
+
+    // k-th neighbour of a territory (0 <= k < degree)
+    int neighbour(int index, int k);
+
+    // Distance in steps between two territories
+    int distance(int from, int to);
+
+    // Whether the grid layout reflects real positions: a territory within
+    // distance d lies within d rows and 2d columns. False for plain graphs.
+    default boolean hasCoordinates() {
+        return true;
+    }
+
+    // Whether odd rows are drawn shifted half a cell (hex layouts)
+    default boolean hasOffsetRows() {
+        return false;
+    }
+
+    default boolean isAdjacent(int index, int other) {
+        int degree = degree(index);
+        for (int k = 0; k < degree; k++) {
+            if (neighbour(index, k) == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.map;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Territory store kept in a memory-mapped world file.
+// Every territory is a fixed-width record, so opening a world only maps the
+// file; the OS pages in the regions that are actually touched.
+//
+// File layout (little endian):
+//   header  : magic, version, unit type count, size, width, height, seed
+//   records : flags, owner, defense, stone, wood, gold, defenders[UNIT_TYPE_COUNT]
+public class MappedTerritoryStore extends TerritoryStore implements Closeable {
+    private static final long MAGIC = 0x444C57514E4F4356L;  // "VCONQWLD"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+
+    // Field offsets inside a record, in ints
+    private static final int FLAGS = 0;
+    private static final int OWNER = 1;
+    private static final int DEFENSE = 2;
+    private static final int STONE = 3;
+    private static final int WOOD = 4;
+    private static final int GOLD = 5;
+    private static final int DEFENDERS = 6;
+
+    private static final int RECORD_BYTES = (DEFENDERS + UNIT_TYPE_COUNT) * Integer.BYTES;
+    private static final int FLAG_GENERATED = 1;
+
+    // A single mapping is limited to 2 GB, so records are mapped in regions
+    private static final int REGION_RECORDS = (1 << 30) / RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final int width;
+    private final int height;
+    private final long seed;
+
+    private MappedTerritoryStore(FileChannel channel, int size, int width, int height, long seed)
+            throws IOException {
+        super(size);
+        this.channel = channel;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+
+        int regionCount = (size + REGION_RECORDS - 1) / REGION_RECORDS;
+        this.regions = new MappedByteBuffer[regionCount];
+        for (int r = 0; r < regionCount; r++) {
+            long position = HEADER_BYTES + (long) r * REGION_RECORDS * RECORD_BYTES;
+            long records = Math.min(REGION_RECORDS, size - (long) r * REGION_RECORDS);
+            regions[r] = channel.map(FileChannel.MapMode.READ_WRITE, position, records * RECORD_BYTES);
+            regions[r].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    // Create a new, empty world file (sparse - untouched records cost no disk pages)
+    public static MappedTerritoryStore create(Path file, int size, int width, int height, long seed)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(UNIT_TYPE_COUNT);
+        header.putInt(size);
+        header.putInt(width);
+        header.putInt(height);
+        header.putLong(seed);
+        header.force();
+
+        return new MappedTerritoryStore(channel, size, width, height, seed);
+    }
+
+    // Open an existing world file without reading its records
+    public static MappedTerritoryStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong() != MAGIC || header.getInt() != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a world file");
+        }
+        if (header.getInt() != UNIT_TYPE_COUNT) {
+            channel.close();
+            throw new IOException(file + " was written with a different set of unit types");
+        }
+        int size = header.getInt();
+        int width = header.getInt();
+        int height = header.getInt();
+        long seed = header.getLong();
+
+        return new MappedTerritoryStore(channel, size, width, height, seed);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getSeed() { return seed; }
+
+    private MappedByteBuffer region(int index) {
+        return regions[index / REGION_RECORDS];
+    }
+
+    // Byte offset of a record field inside its region
+    private static int offset(int index, int field) {
+        return (index % REGION_RECORDS) * RECORD_BYTES + field * Integer.BYTES;
+    }
+
+    private int read(int index, int field) {
+        return region(index).getInt(offset(index, field));
+    }
+
+    private void write(int index, int field, int value) {
+        region(index).putInt(offset(index, field), value);
+    }
+
+    @Override
+    protected int getOwnerIndex(int index) { return read(index, OWNER); }
+    @Override
+    protected void setOwnerIndex(int index, int owner) { write(index, OWNER, owner); }
+    @Override
+    protected int getDefenderAt(int index, int ordinal) { return read(index, DEFENDERS + ordinal); }
+    @Override
+    protected void setDefenderAt(int index, int ordinal, int count) { write(index, DEFENDERS + ordinal, count); }
+
+    @Override
+    public int getDefenseStrength(int index) { return read(index, DEFENSE); }
+    @Override
+    public void setDefenseStrength(int index, int strength) { write(index, DEFENSE, strength); }
+    @Override
+    public int getStoredStone(int index) { return read(index, STONE); }
+    @Override
+    public int getStoredWood(int index) { return read(index, WOOD); }
+    @Override
+    public int getStoredGold(int index) { return read(index, GOLD); }
+
+    @Override
+    public void setStoredResources(int index, int stone, int wood, int gold) {
+        write(index, STONE, stone);
+        write(index, WOOD, wood);
+        write(index, GOLD, gold);
+    }
+
+    @Override
+    public boolean isGenerated(int index) {
+        return (read(index, FLAGS) & FLAG_GENERATED) != 0;
+    }
+
+    @Override
+    public void markGenerated(int index) {
+        write(index, FLAGS, read(index, FLAGS) | FLAG_GENERATED);
+    }
+
+    // Write dirty pages back to the file
+    @Override
+    public void flush() {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.map;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import org.example.player.Player;
+
+// Per-owner territory counts and owned-territory sets, kept up to date
+// from ownership changes so conquest checks never scan the map.
+public class OwnershipCounters implements OwnershipListener {
+    private final TerritoryStore store;
+    private final Map<Player, IndexSet> owned;
+
+    public OwnershipCounters(TerritoryStore store) {
+        this.store = store;
+        this.owned = new IdentityHashMap<>();
+    }
+
+    @Override
+    public void ownerChanged(int index, Player previousOwner, Player newOwner) {
+        if (previousOwner != null) {
+            owned.get(previousOwner).remove(index);
+        }
+        if (newOwner != null) {
+            IndexSet territories = owned.get(newOwner);
+            if (territories == null) {
+                territories = new IndexSet(store.getCapacity());
+                owned.put(newOwner, territories);
+            }
+            territories.add(index);
+        }
+    }
+
+    // Number of territories owned by the player - O(1)
+    public int count(Player owner) {
+        IndexSet territories = owned.get(owner);
+        return territories == null ? 0 : territories.size();
+    }
+
+    // Index of some territory owned by the player, or -1 if none - O(1)
+    public int anyIndex(Player owner) {
+        IndexSet territories = owned.get(owner);
+        if (territories == null || territories.size() == 0) {
+            return -1;
+        }
+        return territories.get(0);
+    }
+
+    // Indices of the territories owned by the player, ascending
+    public int[] indices(Player owner) {
+        IndexSet territories = owned.get(owner);
+        if (territories == null) {
+            return new int[0];
+        }
+        int[] indices = new int[territories.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = territories.get(i);
+        }
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    // Call the action with every owned territory index, whoever owns it - O(owned)
+    public void forEachOwned(IntConsumer action) {
+        for (IndexSet territories : owned.values()) {
+            for (int i = 0; i < territories.size(); i++) {
+                action.accept(territories.get(i));
+            }
+        }
+    }
+
+    // Compare the counters with a full scan of the store (for tests and debugging)
+    public void verify() {
+        Map<Player, Integer> scanned = new IdentityHashMap<>();
+        for (int i = 0; i < store.getCapacity(); i++) {
+            Player owner = store.getOwner(i);
+            if (owner == null) {
+                continue;
+            }
+            scanned.merge(owner, 1, Integer::sum);
+            if (!owned.containsKey(owner) || !owned.get(owner).contains(i)) {
+                throw new IllegalStateException("Territory " + (i + 1) + " missing from owner counters");
+            }
+        }
+
+        for (Map.Entry<Player, IndexSet> entry : owned.entrySet()) {
+            int expected = scanned.getOrDefault(entry.getKey(), 0);
+            if (entry.getValue().size() != expected) {
+                throw new IllegalStateException("Owner counter is " + entry.getValue().size() +
+                        " but scan found " + expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.map;
+
+import org.example.player.Player;
+
+// Notified by TerritoryStore whenever a territory changes hands
+@FunctionalInterface
+public interface OwnershipListener {
+    void ownerChanged(int index, Player previousOwner, Player newOwner);
+}
@@ -0,0 +1,85 @@
+package org.example.map;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntUnaryOperator;
+
+// Generates a whole map up front on a ForkJoinPool.
+// The grid is cut into fixed bands of rows. Every tile is seeded from
+// TerritoryGenerator's (world seed, x, y) hash, so the world is bit-identical
+// for any thread count and matches a chunked map built from the same seed.
+public class ParallelWorldGenerator {
+    private static final int BAND_ROWS = 16;
+
+    private final TerritoryGenerator generator;
+    private final int width;
+    private final int height;
+    private final IntUnaryOperator distanceFromStart;  // store index -> distance
+
+    public ParallelWorldGenerator(TerritoryGenerator generator, int width, int height,
+                                  IntUnaryOperator distanceFromStart) {
+        this.generator = generator;
+        this.width = width;
+        this.height = height;
+        this.distanceFromStart = distanceFromStart;
+    }
+
+    // Generate on the common pool
+    public void generate(TerritoryStore store) {
+        generate(store, ForkJoinPool.commonPool());
+    }
+
+    public void generate(TerritoryStore store, ForkJoinPool pool) {
+        int bandCount = (height + BAND_ROWS - 1) / BAND_ROWS;
+        pool.invoke(new BandTask(store, 0, bandCount));
+
+        // Generated bits are shared between bands, so set them after the join
+        store.markAllGenerated();
+    }
+
+    // Generate all rows of one band in row-major order
+    private void generateBand(TerritoryStore store, int band) {
+        int firstRow = band * BAND_ROWS;
+        int lastRow = Math.min(height, firstRow + BAND_ROWS);
+
+        for (int y = firstRow; y < lastRow; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = y * width + x;
+                if (index >= store.getCapacity()) {
+                    return;  // Graph layouts may leave the last row partly empty
+                }
+                generator.fill(store, index, x, y, distanceFromStart.applyAsInt(index));
+            }
+        }
+    }
+
+    // Splits the band range in halves until a single band is left.
+    // Tasks are never serialized; the store is transient to satisfy RecursiveAction
+    private class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient TerritoryStore store;
+        private final int fromBand;
+        private final int toBand;
+
+        BandTask(TerritoryStore store, int fromBand, int toBand) {
+            this.store = store;
+            this.fromBand = fromBand;
+            this.toBand = toBand;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBand - fromBand <= 1) {
+                if (fromBand < toBand) {
+                    generateBand(store, fromBand);
+                }
+                return;
+            }
+
+            int middle = (fromBand + toBand) >>> 1;
+            invokeAll(new BandTask(store, fromBand, middle),
+                    new BandTask(store, middle, toBand));
+        }
+    }
+}
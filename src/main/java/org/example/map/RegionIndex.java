@@ -0,0 +1,344 @@
+package org.example.map;
+
+import java.util.*;
+import org.example.player.Player;
+
+// Hierarchical spatial index over the map grid (a quadtree stored as a
+// pyramid of levels). Level 0 cells cover 4x4 territories; each level above
+// merges 2x2 cells of the one below. Every cell keeps the total and the
+// maximum number of defending units it contains, plus per-owner territory
+// counts, so rectangle and radius queries skip whole blocks instead of
+// scanning the map. Updates walk one cell per level - O(log n).
+public class RegionIndex implements OwnershipListener, GarrisonListener {
+    private static final int LEAF_BITS = 2;
+    private static final int LEAF_SIDE = 1 << LEAF_BITS;
+
+    private final GameMap map;
+    private final TerritoryStore store;
+    private final OwnershipCounters ownership;
+    private final int width;
+    private final int height;
+    private final int size;
+
+    private final int[] levelWidth;
+    private final int[] levelHeight;
+    private final long[][] defenderSum;
+    private final int[][] defenderMax;
+    private final Map<Player, int[][]> ownedCounts;
+
+    public RegionIndex(GameMap map, TerritoryStore store, OwnershipCounters ownership) {
+        this.map = map;
+        this.store = store;
+        this.ownership = ownership;
+        MapTopology topology = map.getTopology();
+        this.width = topology.getWidth();
+        this.height = topology.getHeight();
+        this.size = topology.size();
+
+        // Level sizes until a single root cell is left
+        List<int[]> sizes = new ArrayList<>();
+        int w = (width + LEAF_SIDE - 1) >>> LEAF_BITS;
+        int h = (height + LEAF_SIDE - 1) >>> LEAF_BITS;
+        sizes.add(new int[] {w, h});
+        while (w > 1 || h > 1) {
+            w = (w + 1) >>> 1;
+            h = (h + 1) >>> 1;
+            sizes.add(new int[] {w, h});
+        }
+
+        int levels = sizes.size();
+        this.levelWidth = new int[levels];
+        this.levelHeight = new int[levels];
+        this.defenderSum = new long[levels][];
+        this.defenderMax = new int[levels][];
+        for (int level = 0; level < levels; level++) {
+            levelWidth[level] = sizes.get(level)[0];
+            levelHeight[level] = sizes.get(level)[1];
+            defenderSum[level] = new long[levelWidth[level] * levelHeight[level]];
+            defenderMax[level] = new int[levelWidth[level] * levelHeight[level]];
+        }
+        this.ownedCounts = new IdentityHashMap<>();
+
+        build();
+    }
+
+    // One pass over the map to fill the leaves, then merge upwards
+    private void build() {
+        for (int cy = 0; cy < levelHeight[0]; cy++) {
+            for (int cx = 0; cx < levelWidth[0]; cx++) {
+                refreshLeaf(cx, cy);
+            }
+        }
+        for (int level = 1; level < levelWidth.length; level++) {
+            for (int cy = 0; cy < levelHeight[level]; cy++) {
+                for (int cx = 0; cx < levelWidth[level]; cx++) {
+                    refreshCell(level, cx, cy);
+                }
+            }
+        }
+    }
+
+    // ----- Updates -----
+
+    @Override
+    public void garrisonChanged(int index) {
+        int cx = (index % width) >>> LEAF_BITS;
+        int cy = (index / width) >>> LEAF_BITS;
+        refreshLeaf(cx, cy);
+        for (int level = 1; level < levelWidth.length; level++) {
+            cx >>>= 1;
+            cy >>>= 1;
+            refreshCell(level, cx, cy);
+        }
+    }
+
+    @Override
+    public void ownerChanged(int index, Player previousOwner, Player newOwner) {
+        if (previousOwner != null && ownedCounts.containsKey(previousOwner)) {
+            addOwned(ownedCounts.get(previousOwner), index, -1);
+        }
+        if (newOwner != null && ownedCounts.containsKey(newOwner)) {
+            addOwned(ownedCounts.get(newOwner), index, 1);
+        }
+    }
+
+    private void addOwned(int[][] counts, int index, int delta) {
+        int cx = (index % width) >>> LEAF_BITS;
+        int cy = (index / width) >>> LEAF_BITS;
+        for (int level = 0; level < counts.length; level++) {
+            counts[level][cy * levelWidth[level] + cx] += delta;
+            cx >>>= 1;
+            cy >>>= 1;
+        }
+    }
+
+    private void refreshLeaf(int cx, int cy) {
+        long sum = 0;
+        int max = 0;
+        for (int y = cy << LEAF_BITS; y < Math.min(height, (cy + 1) << LEAF_BITS); y++) {
+            for (int x = cx << LEAF_BITS; x < Math.min(width, (cx + 1) << LEAF_BITS); x++) {
+                int index = y * width + x;
+                if (index >= size) {
+                    break;
+                }
+                int defenders = store.getTotalDefenders(index);
+                sum += defenders;
+                max = Math.max(max, defenders);
+            }
+        }
+        int cell = cy * levelWidth[0] + cx;
+        defenderSum[0][cell] = sum;
+        defenderMax[0][cell] = max;
+    }
+
+    private void refreshCell(int level, int cx, int cy) {
+        long sum = 0;
+        int max = 0;
+        int below = level - 1;
+        for (int y = cy << 1; y < Math.min(levelHeight[below], (cy << 1) + 2); y++) {
+            for (int x = cx << 1; x < Math.min(levelWidth[below], (cx << 1) + 2); x++) {
+                int child = y * levelWidth[below] + x;
+                sum += defenderSum[below][child];
+                max = Math.max(max, defenderMax[below][child]);
+            }
+        }
+        int cell = cy * levelWidth[level] + cx;
+        defenderSum[level][cell] = sum;
+        defenderMax[level][cell] = max;
+    }
+
+    private int[][] ownedCountsOf(Player owner) {
+        int[][] counts = ownedCounts.get(owner);
+        if (counts == null) {
+            counts = new int[levelWidth.length][];
+            for (int level = 0; level < counts.length; level++) {
+                counts[level] = new int[levelWidth[level] * levelHeight[level]];
+            }
+            for (int index : ownership.indices(owner)) {
+                addOwned(counts, index, 1);
+            }
+            ownedCounts.put(owner, counts);
+        }
+        return counts;
+    }
+
+    // ----- Rectangle queries (tile coordinates, inclusive, 0-based) -----
+
+    // Total defending units inside the rectangle
+    public long sumDefenders(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);
+        y1 = Math.min(height - 1, y1);
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+        return sumCell(topLevel(), 0, 0, x0, y0, x1, y1, null, null);
+    }
+
+    // Territories owned by the player inside the rectangle
+    public int countOwned(Player owner, int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);
+        y1 = Math.min(height - 1, y1);
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+        return (int) sumCell(topLevel(), 0, 0, x0, y0, x1, y1, owner, ownedCountsOf(owner));
+    }
+
+    // Sums defenders, or the owner's territories when an owner is given
+    private long sumCell(int level, int cx, int cy, int x0, int y0, int x1, int y1,
+                         Player owner, int[][] owned) {
+        int shift = level + LEAF_BITS;
+        int left = cx << shift;
+        int top = cy << shift;
+        int right = Math.min(width, (cx + 1) << shift) - 1;
+        int bottom = Math.min(height, (cy + 1) << shift) - 1;
+
+        if (right < x0 || left > x1 || bottom < y0 || top > y1) {
+            return 0;
+        }
+        int cell = cy * levelWidth[level] + cx;
+        if (x0 <= left && right <= x1 && y0 <= top && bottom <= y1) {
+            return owned != null ? owned[level][cell] : defenderSum[level][cell];
+        }
+
+        if (level == 0) {
+            // Partially covered leaf - read the territories directly
+            long total = 0;
+            for (int y = Math.max(top, y0); y <= Math.min(bottom, y1); y++) {
+                for (int x = Math.max(left, x0); x <= Math.min(right, x1); x++) {
+                    int index = y * width + x;
+                    if (index >= size) {
+                        break;
+                    }
+                    if (owned != null) {
+                        total += store.getOwner(index) == owner ? 1 : 0;
+                    } else {
+                        total += store.getTotalDefenders(index);
+                    }
+                }
+            }
+            return total;
+        }
+
+        long total = 0;
+        int below = level - 1;
+        for (int y = cy << 1; y < Math.min(levelHeight[below], (cy << 1) + 2); y++) {
+            for (int x = cx << 1; x < Math.min(levelWidth[below], (cx << 1) + 2); x++) {
+                total += sumCell(below, x, y, x0, y0, x1, y1, owner, owned);
+            }
+        }
+        return total;
+    }
+
+    // ----- Radius query -----
+
+    // ID of the territory with the most defending units within 'radius' steps
+    // of the given territory, or -1 if none has any defenders
+    public int strongestWithin(int centreIndex, int radius) {
+        MapTopology topology = map.getTopology();
+        if (!topology.hasCoordinates()) {
+            return strongestByWalk(topology, centreIndex, radius);
+        }
+
+        int cx = centreIndex % width;
+        int cy = centreIndex / width;
+        int[] best = {-1, 0};  // index, defenders
+        searchStrongest(topLevel(), 0, 0, cx - 2 * radius, cy - radius, cx + 2 * radius, cy + radius,
+                centreIndex, radius, best);
+        return best[0] < 0 ? -1 : best[0] + 1;
+    }
+
+    private void searchStrongest(int level, int cx, int cy, int x0, int y0, int x1, int y1,
+                                 int centreIndex, int radius, int[] best) {
+        int shift = level + LEAF_BITS;
+        int left = cx << shift;
+        int top = cy << shift;
+        int right = Math.min(width, (cx + 1) << shift) - 1;
+        int bottom = Math.min(height, (cy + 1) << shift) - 1;
+
+        // Skip blocks outside the search box or unable to beat the current best
+        if (right < x0 || left > x1 || bottom < y0 || top > y1 ||
+                defenderMax[level][cy * levelWidth[level] + cx] <= best[1]) {
+            return;
+        }
+
+        if (level == 0) {
+            MapTopology topology = map.getTopology();
+            for (int y = Math.max(top, y0); y <= Math.min(bottom, y1); y++) {
+                for (int x = Math.max(left, x0); x <= Math.min(right, x1); x++) {
+                    int index = y * width + x;
+                    if (index >= size) {
+                        break;
+                    }
+                    int defenders = store.getTotalDefenders(index);
+                    if (defenders > best[1] && topology.distance(centreIndex, index) <= radius) {
+                        best[0] = index;
+                        best[1] = defenders;
+                    }
+                }
+            }
+            return;
+        }
+
+        // Visit the most promising children first so later ones prune sooner
+        int below = level - 1;
+        int[] children = new int[4];
+        int count = 0;
+        for (int y = cy << 1; y < Math.min(levelHeight[below], (cy << 1) + 2); y++) {
+            for (int x = cx << 1; x < Math.min(levelWidth[below], (cx << 1) + 2); x++) {
+                children[count++] = y * levelWidth[below] + x;
+            }
+        }
+        for (int i = 1; i < count; i++) {
+            for (int j = i; j > 0 && defenderMax[below][children[j]] > defenderMax[below][children[j - 1]]; j--) {
+                int swap = children[j];
+                children[j] = children[j - 1];
+                children[j - 1] = swap;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int child = children[i];
+            searchStrongest(below, child % levelWidth[below], child / levelWidth[below],
+                    x0, y0, x1, y1, centreIndex, radius, best);
+        }
+    }
+
+    // Plain graphs have no coordinates: walk the ball of the given radius
+    private int strongestByWalk(MapTopology topology, int centreIndex, int radius) {
+        Map<Integer, Integer> depth = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        depth.put(centreIndex, 0);
+        queue.add(centreIndex);
+
+        int bestIndex = -1;
+        int bestDefenders = 0;
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            int defenders = store.getTotalDefenders(current);
+            if (defenders > bestDefenders) {
+                bestIndex = current;
+                bestDefenders = defenders;
+            }
+            if (depth.get(current) == radius) {
+                continue;
+            }
+            int degree = topology.degree(current);
+            for (int k = 0; k < degree; k++) {
+                int next = topology.neighbour(current, k);
+                if (!depth.containsKey(next)) {
+                    depth.put(next, depth.get(current) + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return bestIndex < 0 ? -1 : bestIndex + 1;
+    }
+
+    private int topLevel() {
+        return levelWidth.length - 1;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.map;
+
+// Square grid with 4 (edges) or 8 (edges and corners) neighbours per tile
+public class SquareTopology implements MapTopology {
+    // Up, right, down, left, then the diagonals
+    private static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] DY = {-1, 0, 1, 0, -1, 1, 1, -1};
+
+    private final int width;
+    private final int height;
+    private final boolean diagonals;
+
+    public SquareTopology(int width, int height, boolean diagonals) {
+        this.width = width;
+        this.height = height;
+        this.diagonals = diagonals;
+    }
+
+    @Override
+    public int getWidth() { return width; }
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public int degree(int index) {
+        int count = 0;
+        int directions = diagonals ? 8 : 4;
+        for (int d = 0; d < directions; d++) {
+            if (inside(index, d)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int neighbour(int index, int k) {
+        int directions = diagonals ? 8 : 4;
+        for (int d = 0; d < directions; d++) {
+            if (inside(index, d) && k-- == 0) {
+                return index + DY[d] * width + DX[d];
+            }
+        }
+        throw new IndexOutOfBoundsException("Territory " + (index + 1) + " has no neighbour " + k);
+    }
+
+    private boolean inside(int index, int direction) {
+        int x = index % width + DX[direction];
+        int y = index / width + DY[direction];
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    @Override
+    public int distance(int from, int to) {
+        int dx = Math.abs(from % width - to % width);
+        int dy = Math.abs(from / width - to / width);
+        // Manhattan for 4 neighbours, Chebyshev for 8
+        return diagonals ? Math.max(dx, dy) : dx + dy;
+    }
+}
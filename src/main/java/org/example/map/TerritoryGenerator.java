@@ -0,0 +1,104 @@
+package org.example.map;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitType;
+
+// Fills a territory's row in the store with its starting resources,
+// defense and garrison. Each tile gets its own generator derived from a
+// stateless hash of (world seed, x, y), so a tile always comes out the
+// same no matter when or in which order it is generated.
+public class TerritoryGenerator {
+    private final long worldSeed;
+    private final DifficultyLevel difficulty;
+
+    public TerritoryGenerator(long worldSeed, DifficultyLevel difficulty) {
+        this.worldSeed = worldSeed;
+        this.difficulty = difficulty;
+    }
+
+    // Generate one tile from its coordinates
+    public void generate(TerritoryStore store, int index, int x, int y, int distanceFromStart) {
+        fill(store, index, x, y, distanceFromStart);
+        store.markGenerated(index);
+    }
+
+    // Generate one tile drawing from the given random source
+    public void generate(TerritoryStore store, int index, int distanceFromStart, RandomGenerator random) {
+        fill(store, index, distanceFromStart, random);
+        store.markGenerated(index);
+    }
+
+    // Write the tile's contents without marking it generated (bulk generation marks afterwards)
+    public void fill(TerritoryStore store, int index, int x, int y, int distanceFromStart) {
+        fill(store, index, distanceFromStart, new SplittableRandom(tileSeed(x, y)));
+    }
+
+    private void fill(TerritoryStore store, int index, int distanceFromStart, RandomGenerator random) {
+        // Random starting resources and defense
+        store.setStoredResources(index,
+                20 + random.nextInt(100),
+                20 + random.nextInt(100),
+                10 + random.nextInt(50)
+        );
+        store.setDefenseStrength(index, 10 + random.nextInt(20));
+
+        // The starting territory has no garrison
+        if (distanceFromStart > 0) {
+            setupDefendingUnits(store, index, distanceFromStart, random);
+        }
+    }
+
+    // Add defending units based on difficulty and territory position
+    private void setupDefendingUnits(TerritoryStore store, int index, int distanceFromStart,
+                                     RandomGenerator random) {
+        // Base defense increases with distance and difficulty
+        int baseUnits = 5 + (distanceFromStart * 2);
+        double multiplier = difficulty.getEnemyStrengthMultiplier();
+
+        // Pick a random enemy race
+        UnitType[] enemyUnits;
+        switch (random.nextInt(3)) {
+            case 0:
+                enemyUnits = UnitType.getUnitsForRace(Race.HUMAN);
+                break;
+            case 1:
+                enemyUnits = UnitType.getUnitsForRace(Race.ELF);
+                break;
+            default:
+                enemyUnits = UnitType.getUnitsForRace(Race.ORC);
+        }
+
+        // Distribute units - more advanced units appear further away
+        int basicUnits = (int)(baseUnits * multiplier * (0.7 - (0.1 * distanceFromStart)));
+        if (basicUnits < 1) basicUnits = 1;
+
+        int mediumUnits = (int)(baseUnits * multiplier * (0.2 + (0.05 * distanceFromStart)));
+        if (mediumUnits < 0) mediumUnits = 0;
+
+        int advancedUnits = (int)(baseUnits * multiplier * (0.1 + (0.05 * distanceFromStart)));
+        if (advancedUnits < 0) advancedUnits = 0;
+
+        // Assign units
+        store.setDefenderCount(index, enemyUnits[0], basicUnits);
+        store.setDefenderCount(index, enemyUnits[1], mediumUnits);
+        store.setDefenderCount(index, enemyUnits[2], advancedUnits);
+    }
+
+    // Stateless hash of (world seed, x, y)
+    long tileSeed(int x, int y) {
+        long h = worldSeed ^ mix64(((long) x << 32) | (y & 0xFFFFFFFFL));
+        return mix64(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getWorldSeed() { return worldSeed; }
+}
@@ -0,0 +1,198 @@
+package org.example.map;
+
+import java.util.*;
+import org.example.model.ResourceAmount;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.example.player.Player;
+
+// Primitive storage for all territories of a map.
+// Territory with id N lives at index N - 1. Subclasses decide how the
+// per-territory columns are laid out (dense arrays, lazily allocated chunks...).
+public abstract class TerritoryStore {
+    protected static final UnitType[] UNIT_TYPES = UnitType.values();
+    protected static final int UNIT_TYPE_COUNT = UNIT_TYPES.length;
+
+    private final int capacity;
+
+    // Owner index -> player, index 0 is reserved for "no owner"
+    private final List<Player> owners;
+    private final List<OwnershipListener> listeners;
+    private final List<GarrisonListener> garrisonListeners;
+
+    // Only territories that were renamed have an entry
+    private final Map<Integer, String> customNames;
+
+    protected TerritoryStore(int capacity) {
+        this.capacity = capacity;
+        this.owners = new ArrayList<>();
+        this.owners.add(null);
+        this.listeners = new ArrayList<>();
+        this.garrisonListeners = new ArrayList<>();
+        this.customNames = new HashMap<>();
+    }
+
+    public int getCapacity() { return capacity; }
+
+    // Column accessors implemented by the concrete layout
+    protected abstract int getOwnerIndex(int index);
+    protected abstract void setOwnerIndex(int index, int ownerIndex);
+    protected abstract int getDefenderAt(int index, int ordinal);
+    protected abstract void setDefenderAt(int index, int ordinal, int count);
+
+    public abstract int getDefenseStrength(int index);
+    public abstract void setDefenseStrength(int index, int strength);
+    public abstract int getStoredStone(int index);
+    public abstract int getStoredWood(int index);
+    public abstract int getStoredGold(int index);
+    public abstract void setStoredResources(int index, int stone, int wood, int gold);
+
+    // Whether the territory's contents were already generated
+    public abstract boolean isGenerated(int index);
+    public abstract void markGenerated(int index);
+
+    public void markAllGenerated() {
+        for (int index = 0; index < capacity; index++) {
+            markGenerated(index);
+        }
+    }
+
+    // Write pending changes to backing storage (no-op for heap stores)
+    public void flush() {
+    }
+
+    // Owner
+    public Player getOwner(int index) {
+        return ownerForSlot(getOwnerIndex(index));
+    }
+
+    // Slots loaded from a world file stay ownerless until restoreOwners is called
+    private Player ownerForSlot(int slot) {
+        return slot < owners.size() ? owners.get(slot) : null;
+    }
+
+    public void setOwner(int index, Player player) {
+        int previousIndex = getOwnerIndex(index);
+        int newIndex = indexOfOwner(player);
+        if (previousIndex == newIndex) {
+            return;
+        }
+
+        setOwnerIndex(index, newIndex);
+        Player previousOwner = ownerForSlot(previousIndex);
+        for (OwnershipListener listener : listeners) {
+            listener.ownerChanged(index, previousOwner, player);
+        }
+    }
+
+    public void addOwnershipListener(OwnershipListener listener) {
+        listeners.add(listener);
+    }
+
+    public void addGarrisonListener(GarrisonListener listener) {
+        garrisonListeners.add(listener);
+    }
+
+    private void fireGarrisonChanged(int index) {
+        for (GarrisonListener listener : garrisonListeners) {
+            listener.garrisonChanged(index);
+        }
+    }
+
+    // Re-attach players to the owner slots of a reopened store, in the order
+    // they were first registered, and replay their territories to the listeners
+    public void restoreOwners(List<Player> players) {
+        owners.subList(1, owners.size()).clear();
+        owners.addAll(players);
+
+        for (int index = 0; index < capacity; index++) {
+            int slot = getOwnerIndex(index);
+            if (slot > 0 && slot < owners.size()) {
+                for (OwnershipListener listener : listeners) {
+                    listener.ownerChanged(index, null, owners.get(slot));
+                }
+            }
+        }
+    }
+
+    // Players in owner slot order (slot 1 first), as needed by restoreOwners
+    public List<Player> getRegisteredOwners() {
+        return new ArrayList<>(owners.subList(1, owners.size()));
+    }
+
+    // Find (or register) the compact index used for a player
+    private int indexOfOwner(Player player) {
+        if (player == null) {
+            return 0;
+        }
+        for (int i = 1; i < owners.size(); i++) {
+            if (owners.get(i) == player) {
+                return i;
+            }
+        }
+        owners.add(player);
+        return owners.size() - 1;
+    }
+
+    // Name
+    public String getName(int index) {
+        String name = customNames.get(index);
+        return name != null ? name : "Territory " + (index + 1);
+    }
+
+    public void setName(int index, String name) {
+        customNames.put(index, name);
+    }
+
+    // Stored resources
+    public ResourceAmount getStoredResources(int index) {
+        return new ResourceAmount(getStoredStone(index), getStoredWood(index), getStoredGold(index));
+    }
+
+    // Defending units
+    public int getDefenderCount(int index, UnitType type) {
+        return getDefenderAt(index, type.ordinal());
+    }
+
+    public void setDefenderCount(int index, UnitType type, int count) {
+        setDefenderAt(index, type.ordinal(), Math.max(0, count));
+        fireGarrisonChanged(index);
+    }
+
+    public int getTotalDefenders(int index) {
+        int total = 0;
+        for (int i = 0; i < UNIT_TYPE_COUNT; i++) {
+            total += getDefenderAt(index, i);
+        }
+        return total;
+    }
+
+    public void clearDefenders(int index) {
+        for (int i = 0; i < UNIT_TYPE_COUNT; i++) {
+            setDefenderAt(index, i, 0);
+        }
+        fireGarrisonChanged(index);
+    }
+
+    // Copy of the defender counts of a territory
+    public UnitCounts getDefendingUnits(int index) {
+        UnitCounts result = new UnitCounts();
+        copyDefendingUnits(index, result);
+        return result;
+    }
+
+    // Copy the defender counts into an existing vector (no allocation)
+    public void copyDefendingUnits(int index, UnitCounts into) {
+        for (int i = 0; i < UNIT_TYPE_COUNT; i++) {
+            into.setAt(i, getDefenderAt(index, i));
+        }
+    }
+
+    // Replace the whole garrison at once
+    public void setDefendingUnits(int index, UnitCounts units) {
+        for (int i = 0; i < UNIT_TYPE_COUNT; i++) {
+            setDefenderAt(index, i, Math.max(0, units.getAt(i)));
+        }
+        fireGarrisonChanged(index);
+    }
+}
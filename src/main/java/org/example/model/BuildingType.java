@@ -12,34 +12,34 @@ import org.example.utils.EventManager;
 public enum BuildingType {
     // Basic buildings available to all races
     TOWN_HALL("Town Hall", "Controls village development",
-            new Resources(100, 100, 100, 0, 0, 0), 5),
+            new ResourceAmount(100, 100, 100), 5),
     STONE_MINE("Stone Mine", "Produces stone daily",
-            new Resources(50, 100, 20, 0, 0, 0), 3),
+            new ResourceAmount(50, 100, 20), 3),
     LUMBER_MILL("Lumber Mill", "Produces wood daily",
-            new Resources(100, 20, 20, 0, 0, 0), 3),
+            new ResourceAmount(100, 20, 20), 3),
     GOLD_MINE("Gold Mine", "Produces gold daily",
-            new Resources(100, 50, 50, 0, 0, 0), 3),
+            new ResourceAmount(100, 50, 50), 3),
     SILO("Silo", "Increases resource storage capacity",
-            new Resources(150, 150, 50, 0, 0, 0), 5),
+            new ResourceAmount(150, 150, 50), 5),
     HOUSE("House", "Increases population capacity",
-            new Resources(50, 100, 30, 0, 0, 0), 5),
+            new ResourceAmount(50, 100, 30), 5),
     BARRACKS("Barracks", "Enables unit training",
-            new Resources(150, 200, 100, 0, 0, 0), 3),
+            new ResourceAmount(150, 200, 100), 3),
 
     // Race-specific buildings
     HUMAN_CHURCH("Church", "Provides bonuses to Human units",
-            new Resources(200, 150, 200, 0, 0, 0), 3),
+            new ResourceAmount(200, 150, 200), 3),
     ELF_MAGIC_TOWER("Magic Tower", "Enhances Elf magic abilities",
-            new Resources(150, 250, 200, 0, 0, 0), 3),
+            new ResourceAmount(150, 250, 200), 3),
     ORC_TOTEM("War Totem", "Strengthens Orc warriors",
-            new Resources(250, 150, 150, 0, 0, 0), 3);
+            new ResourceAmount(250, 150, 150), 3);
 
     private final String name;
     private final String description;
-    private final Resources baseCost;
+    private final ResourceAmount baseCost;
     private final int maxLevel;
 
-    BuildingType(String name, String description, Resources baseCost, int maxLevel) {
+    BuildingType(String name, String description, ResourceAmount baseCost, int maxLevel) {
         this.name = name;
         this.description = description;
         this.baseCost = baseCost;
@@ -48,18 +48,13 @@ public enum BuildingType {
 
     public String getName() { return name; }
     public String getDescription() { return description; }
-    public Resources getBaseCost() { return baseCost; }
+    public ResourceAmount getBaseCost() { return baseCost; }
     public int getMaxLevel() { return maxLevel; }
 
     // Calculate cost based on level
-    public Resources getCostForLevel(int currentLevel) {
+    public ResourceAmount getCostForLevel(int currentLevel) {
         double multiplier = 1 + (currentLevel * 0.5);
-        return new Resources(
-                (int) (baseCost.getStone() * multiplier),
-                (int) (baseCost.getWood() * multiplier),
-                (int) (baseCost.getGold() * multiplier),
-                0, 0, 0
-        );
+        return baseCost.times(multiplier);
     }
 
     // Get buildings available for a specific race and town hall level
@@ -97,35 +92,40 @@ public enum BuildingType {
     }
 
     // Get daily resource production for a building
-    public Resources getDailyProduction(int level, DifficultyLevel difficulty) {
+    public ResourceAmount getDailyProduction(int level, DifficultyLevel difficulty) {
         double multiplier = level * difficulty.getResourceMultiplier();
 
         switch (this) {
             case STONE_MINE:
-                return new Resources((int) (50 * multiplier), 0, 0, 0, 0, 0);
+                return new ResourceAmount((int) (50 * multiplier), 0, 0);
             case LUMBER_MILL:
-                return new Resources(0, (int) (50 * multiplier), 0, 0, 0, 0);
+                return new ResourceAmount(0, (int) (50 * multiplier), 0);
             case GOLD_MINE:
-                return new Resources(0, 0, (int) (30 * multiplier), 0, 0, 0);
+                return new ResourceAmount(0, 0, (int) (30 * multiplier));
             default:
-                return new Resources(0, 0, 0, 0, 0, 0);
+                return ResourceAmount.ZERO;
         }
     }
 
     // Get storage capacity increase for a building
-    public Resources getStorageIncrease(int level) {
+    public ResourceAmount getStorageIncrease(int level) {
         int baseIncrease = 200 * level;
 
         switch (this) {
             case SILO:
-                return new Resources(baseIncrease, baseIncrease, 0, 0, 0, 0);
+                return new ResourceAmount(baseIncrease, baseIncrease, 0);
             case TOWN_HALL:
-                return new Resources(100 * level, 100 * level, 100 * level, 0, 0, 0);
+                return new ResourceAmount(100 * level, 100 * level, 100 * level);
             default:
-                return new Resources(0, 0, 0, 0, 0, 0);
+                return ResourceAmount.ZERO;
         }
     }
 
+    // Days needed to build the building up to a level
+    public int getBuildDays(int level) {
+        return level;
+    }
+
     // Get population increase for a building
     public int getPopulationIncrease(int level) {
         switch (this) {
@@ -0,0 +1,340 @@
+package org.example.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Economy of many villages in columns: one primitive array per resource,
+// storage limit, production rate and building level, indexed by village
+// slot. Players and their Resources are views over one slot, so a server
+// hosting thousands of villages runs the daily collection for all of them
+// in one pass over a few arrays.
+//
+// Ledger cells (amounts and storage limits) may be used from several threads
+// at once - event effects, a network handler, the daily tick. Every update is
+// a compare-and-set on its cell through a VarHandle, with no lock, and
+// saturates at the int range instead of wrapping. Registering villages and
+// changing building levels are not thread-safe: growing replaces the column
+// arrays, so add every village before other threads use the engine, and change
+// a village's buildings from one thread.
+public class EconomyEngine {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int VILLAGES_PER_TASK = 1 << 14;  // Parallel collection chunk
+
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(int[].class);
+
+    static final BuildingType[] BUILDING_TYPES = BuildingType.values();
+    static final int BUILDING_COUNT = BUILDING_TYPES.length;
+
+    private int size;
+
+    // Ledger columns, only accessed through CELL
+    private int[] stone;
+    private int[] wood;
+    private int[] gold;
+    private int[] maxStone;
+    private int[] maxWood;
+    private int[] maxGold;
+
+    // Daily production, recomputed when a level or the difficulty changes
+    private int[] produceStone;
+    private int[] produceWood;
+    private int[] produceGold;
+
+    private int[] levels;  // [slot * BUILDING_COUNT + building ordinal]
+    private DifficultyLevel[] difficulties;
+
+    public EconomyEngine() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private static final int[] NO_INTS = new int[0];
+    private static final DifficultyLevel[] NO_DIFFICULTIES = new DifficultyLevel[0];
+
+    public EconomyEngine(int capacity) {
+        capacity = Math.max(1, capacity);
+        stone = new int[capacity];
+        wood = new int[capacity];
+        gold = new int[capacity];
+        maxStone = new int[capacity];
+        maxWood = new int[capacity];
+        maxGold = new int[capacity];
+        produceStone = new int[capacity];
+        produceWood = new int[capacity];
+        produceGold = new int[capacity];
+        levels = new int[capacity * BUILDING_COUNT];
+        difficulties = new DifficultyLevel[capacity];
+    }
+
+    private EconomyEngine(int stone, int wood, int gold, int maxStone, int maxWood, int maxGold) {
+        this.stone = new int[] { stone };
+        this.wood = new int[] { wood };
+        this.gold = new int[] { gold };
+        this.maxStone = new int[] { maxStone };
+        this.maxWood = new int[] { maxWood };
+        this.maxGold = new int[] { maxGold };
+        produceStone = NO_INTS;
+        produceWood = NO_INTS;
+        produceGold = NO_INTS;
+        levels = NO_INTS;
+        difficulties = NO_DIFFICULTIES;
+        size = 1;
+    }
+
+    // One-village engine with only the ledger columns, behind a standalone
+    // Resources; it is never handed out, so nothing builds or collects in it
+    static EconomyEngine ledger(int stone, int wood, int gold, int maxStone, int maxWood, int maxGold) {
+        return new EconomyEngine(stone, wood, gold, maxStone, maxWood, maxGold);
+    }
+
+    // Register a village with the given amounts and storage limits and no
+    // buildings; returns its slot
+    public int addVillage(DifficultyLevel difficulty, int stone, int wood, int gold,
+                          int maxStone, int maxWood, int maxGold) {
+        if (size == this.stone.length) {
+            grow();
+        }
+        int slot = size++;
+        this.stone[slot] = stone;
+        this.wood[slot] = wood;
+        this.gold[slot] = gold;
+        this.maxStone[slot] = maxStone;
+        this.maxWood[slot] = maxWood;
+        this.maxGold[slot] = maxGold;
+        difficulties[slot] = difficulty;
+        return slot;
+    }
+
+    // Register a village with the starting resources of the difficulty
+    public int addVillage(DifficultyLevel difficulty) {
+        ResourceAmount start = Resources.getStartingAmount(difficulty);
+        ResourceAmount capacity = Resources.getStartingCapacity(difficulty);
+        return addVillage(difficulty, start.getStone(), start.getWood(), start.getGold(),
+                capacity.getStone(), capacity.getWood(), capacity.getGold());
+    }
+
+    private void grow() {
+        int capacity = stone.length * 2;
+        stone = Arrays.copyOf(stone, capacity);
+        wood = Arrays.copyOf(wood, capacity);
+        gold = Arrays.copyOf(gold, capacity);
+        maxStone = Arrays.copyOf(maxStone, capacity);
+        maxWood = Arrays.copyOf(maxWood, capacity);
+        maxGold = Arrays.copyOf(maxGold, capacity);
+        produceStone = Arrays.copyOf(produceStone, capacity);
+        produceWood = Arrays.copyOf(produceWood, capacity);
+        produceGold = Arrays.copyOf(produceGold, capacity);
+        levels = Arrays.copyOf(levels, capacity * BUILDING_COUNT);
+        difficulties = Arrays.copyOf(difficulties, capacity);
+    }
+
+    public int size() { return size; }
+
+    // View of a village's ledger
+    public Resources getResources(int slot) {
+        return new Resources(this, slot);
+    }
+
+    // ----- Buildings -----
+
+    public int getLevel(int slot, BuildingType type) {
+        return levels[slot * BUILDING_COUNT + type.ordinal()];
+    }
+
+    public void setLevel(int slot, BuildingType type, int level) {
+        levels[slot * BUILDING_COUNT + type.ordinal()] = level;
+        updateProduction(slot);
+    }
+
+    // Number of building types built at least once
+    public int countBuildings(int slot) {
+        int count = 0;
+        for (int i = 0; i < BUILDING_COUNT; i++) {
+            if (levels[slot * BUILDING_COUNT + i] > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public DifficultyLevel getDifficulty(int slot) { return difficulties[slot]; }
+
+    public void setDifficulty(int slot, DifficultyLevel difficulty) {
+        difficulties[slot] = difficulty;
+        updateProduction(slot);
+    }
+
+    private void updateProduction(int slot) {
+        ResourceAmount total = ResourceAmount.ZERO;
+        for (int i = 0; i < BUILDING_COUNT; i++) {
+            int level = levels[slot * BUILDING_COUNT + i];
+            if (level > 0) {
+                total = total.plus(BUILDING_TYPES[i].getDailyProduction(level, difficulties[slot]));
+            }
+        }
+        produceStone[slot] = total.getStone();
+        produceWood[slot] = total.getWood();
+        produceGold[slot] = total.getGold();
+    }
+
+    public ResourceAmount getDailyProduction(int slot) {
+        return ResourceAmount.of(produceStone[slot], produceWood[slot], produceGold[slot]);
+    }
+
+    // ----- Daily collection -----
+
+    // One village
+    public void collect(int slot) {
+        collect(slot, slot + 1);
+    }
+
+    // Every village; 'parallel' splits the columns across cores
+    public void collectAll(boolean parallel) {
+        if (!parallel || size <= VILLAGES_PER_TASK) {
+            collect(0, size);
+        } else {
+            int tasks = (size + VILLAGES_PER_TASK - 1) / VILLAGES_PER_TASK;
+            IntStream.range(0, tasks).parallel().forEach(task -> {
+                int from = task * VILLAGES_PER_TASK;
+                collect(from, Math.min(size, from + VILLAGES_PER_TASK));
+            });
+        }
+    }
+
+    private void collect(int from, int to) {
+        addWithLimit(stone, produceStone, maxStone, from, to);
+        addWithLimit(wood, produceWood, maxWood, from, to);
+        addWithLimit(gold, produceGold, maxGold, from, to);
+    }
+
+    // One pass over a column. Full storage needs no write, so a settled
+    // economy costs two reads per village
+    private static void addWithLimit(int[] amount, int[] production, int[] max, int from, int to) {
+        for (int i = from; i < to; i++) {
+            addCapped(amount, max, i, production[i]);
+        }
+    }
+
+    // ----- Ledger -----
+
+    public int getStone(int slot) { return (int) CELL.getVolatile(stone, slot); }
+    public int getWood(int slot) { return (int) CELL.getVolatile(wood, slot); }
+    public int getGold(int slot) { return (int) CELL.getVolatile(gold, slot); }
+    public int getMaxStone(int slot) { return (int) CELL.getVolatile(maxStone, slot); }
+    public int getMaxWood(int slot) { return (int) CELL.getVolatile(maxWood, slot); }
+    public int getMaxGold(int slot) { return (int) CELL.getVolatile(maxGold, slot); }
+
+    // Add an amount with no limit (conquest loot, refunds)
+    public void add(int slot, ResourceAmount amount) {
+        addSaturated(stone, slot, amount.getStone());
+        addSaturated(wood, slot, amount.getWood());
+        addSaturated(gold, slot, amount.getGold());
+    }
+
+    // Add an amount, each part up to its storage limit
+    public void addWithLimit(int slot, int stone, int wood, int gold) {
+        addCapped(this.stone, maxStone, slot, stone);
+        addCapped(this.wood, maxWood, slot, wood);
+        addCapped(this.gold, maxGold, slot, gold);
+    }
+
+    // Subtract an amount unconditionally; use tryDebit to pay a cost
+    public void subtract(int slot, ResourceAmount amount) {
+        addSaturated(stone, slot, negate(amount.getStone()));
+        addSaturated(wood, slot, negate(amount.getWood()));
+        addSaturated(gold, slot, negate(amount.getGold()));
+    }
+
+    // Pay 'cost' if every part is covered; otherwise nothing is paid.
+    // The parts are taken one by one and refunded if a later one falls short,
+    // so a concurrent reader may briefly see a part taken; a capped credit that
+    // lands in that window can leave the amount above its limit by the refund.
+    public boolean tryDebit(int slot, ResourceAmount cost) {
+        if (!take(stone, slot, cost.getStone())) {
+            return false;
+        }
+        if (!take(wood, slot, cost.getWood())) {
+            addSaturated(stone, slot, cost.getStone());
+            return false;
+        }
+        if (!take(gold, slot, cost.getGold())) {
+            addSaturated(stone, slot, cost.getStone());
+            addSaturated(wood, slot, cost.getWood());
+            return false;
+        }
+        return true;
+    }
+
+    // Take as much of 'amount' as there is, part by part; returns what was taken
+    public ResourceAmount takeUpTo(int slot, ResourceAmount amount) {
+        return ResourceAmount.of(takeUpTo(stone, slot, amount.getStone()),
+                takeUpTo(wood, slot, amount.getWood()),
+                takeUpTo(gold, slot, amount.getGold()));
+    }
+
+    public void increaseMaxCapacity(int slot, ResourceAmount increase) {
+        addSaturated(maxStone, slot, increase.getStone());
+        addSaturated(maxWood, slot, increase.getWood());
+        addSaturated(maxGold, slot, increase.getGold());
+    }
+
+    // ----- Cell updates -----
+
+    private static void addSaturated(int[] column, int slot, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int current;
+        do {
+            current = (int) CELL.getVolatile(column, slot);
+        } while (!CELL.weakCompareAndSet(column, slot, current, saturate((long) current + delta)));
+    }
+
+    // Same rule as the single-threaded min(amount + delta, limit)
+    private static void addCapped(int[] column, int[] limits, int slot, int delta) {
+        while (true) {
+            int current = (int) CELL.getVolatile(column, slot);
+            int limit = (int) CELL.getVolatile(limits, slot);
+            int updated = Math.min(saturate((long) current + delta), limit);
+            if (updated == current || CELL.weakCompareAndSet(column, slot, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean take(int[] column, int slot, int amount) {
+        if (amount <= 0) {
+            return true;
+        }
+        int current;
+        do {
+            current = (int) CELL.getVolatile(column, slot);
+            if (current < amount) {
+                return false;
+            }
+        } while (!CELL.weakCompareAndSet(column, slot, current, current - amount));
+        return true;
+    }
+
+    private static int takeUpTo(int[] column, int slot, int amount) {
+        int current;
+        int taken;
+        do {
+            current = (int) CELL.getVolatile(column, slot);
+            taken = Math.max(0, Math.min(current, amount));
+            if (taken == 0) {
+                return 0;
+            }
+        } while (!CELL.weakCompareAndSet(column, slot, current, current - taken));
+        return taken;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    private static int negate(int value) {
+        return value == Integer.MIN_VALUE ? Integer.MAX_VALUE : -value;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.model;
+
+// An immutable amount of stone, wood and gold: a cost, a production rate,
+// a loot. Unlike Resources it has no storage limits. Operations return new
+// amounts and are small enough for the JIT to keep them in registers, and
+// ZERO replaces the empty amounts that used to be allocated everywhere.
+public final class ResourceAmount {
+    public static final ResourceAmount ZERO = new ResourceAmount(0, 0, 0);
+
+    private final int stone;
+    private final int wood;
+    private final int gold;
+
+    public ResourceAmount(int stone, int wood, int gold) {
+        this.stone = stone;
+        this.wood = wood;
+        this.gold = gold;
+    }
+
+    public static ResourceAmount of(int stone, int wood, int gold) {
+        return (stone | wood | gold) == 0 ? ZERO : new ResourceAmount(stone, wood, gold);
+    }
+
+    public ResourceAmount plus(ResourceAmount other) {
+        return of(stone + other.stone, wood + other.wood, gold + other.gold);
+    }
+
+    public ResourceAmount minus(ResourceAmount other) {
+        return of(stone - other.stone, wood - other.wood, gold - other.gold);
+    }
+
+    public ResourceAmount times(int factor) {
+        return of(stone * factor, wood * factor, gold * factor);
+    }
+
+    // Scaled amount, each part rounded down
+    public ResourceAmount times(double factor) {
+        return of((int)(stone * factor), (int)(wood * factor), (int)(gold * factor));
+    }
+
+    // The smaller of the two amounts, part by part
+    public ResourceAmount min(ResourceAmount other) {
+        return of(Math.min(stone, other.stone), Math.min(wood, other.wood), Math.min(gold, other.gold));
+    }
+
+    // Whether this amount pays for 'cost'
+    public boolean covers(ResourceAmount cost) {
+        return stone >= cost.stone && wood >= cost.wood && gold >= cost.gold;
+    }
+
+    public boolean isZero() {
+        return (stone | wood | gold) == 0;
+    }
+
+    // Getters
+    public int getStone() { return stone; }
+    public int getWood() { return wood; }
+    public int getGold() { return gold; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ResourceAmount)) {
+            return false;
+        }
+        ResourceAmount other = (ResourceAmount) o;
+        return stone == other.stone && wood == other.wood && gold == other.gold;
+    }
+
+    @Override
+    public int hashCode() {
+        return (stone * 31 + wood) * 31 + gold;
+    }
+
+    @Override
+    public String toString() {
+        return "Stone=" + stone + ", Wood=" + wood + ", Gold=" + gold;
+    }
+}
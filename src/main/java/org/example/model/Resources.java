@@ -9,86 +9,127 @@ import org.example.model.UnitType;
 import org.example.player.Player;
 import org.example.utils.Event;
 import org.example.utils.EventManager;
+// Mutable resource ledger with storage limits; amounts are ResourceAmounts.
+// A view over one village slot of an EconomyEngine, so every update is
+// atomic and safe to make from several threads.
 public class Resources {
-    private int stone;
-    private int wood;
-    private int gold;
-    private int maxStone;
-    private int maxWood;
-    private int maxGold;
+    // Starting amounts and storage limits per difficulty
+    private static final ResourceAmount EASY_START = new ResourceAmount(300, 300, 200);
+    private static final ResourceAmount EASY_CAPACITY = new ResourceAmount(1000, 1000, 1000);
+    private static final ResourceAmount NORMAL_START = new ResourceAmount(200, 200, 150);
+    private static final ResourceAmount NORMAL_CAPACITY = new ResourceAmount(500, 500, 500);
+    private static final ResourceAmount HARD_START = new ResourceAmount(150, 150, 100);
+    private static final ResourceAmount HARD_CAPACITY = new ResourceAmount(300, 300, 300);
 
+    private final EconomyEngine economy;
+    private final int slot;
+
+    // A standalone ledger, backed by a one-village engine holding just the ledger columns
     public Resources(int stone, int wood, int gold, int maxStone, int maxWood, int maxGold) {
-        this.stone = stone;
-        this.wood = wood;
-        this.gold = gold;
-        this.maxStone = maxStone;
-        this.maxWood = maxWood;
-        this.maxGold = maxGold;
+        this.economy = EconomyEngine.ledger(stone, wood, gold, maxStone, maxWood, maxGold);
+        this.slot = 0;
+    }
+
+    Resources(EconomyEngine economy, int slot) {
+        this.economy = economy;
+        this.slot = slot;
     }
 
     // Get starting resources based on difficulty
     public static Resources getStartingResources(DifficultyLevel difficulty) {
+        ResourceAmount start = getStartingAmount(difficulty);
+        ResourceAmount capacity = getStartingCapacity(difficulty);
+        return new Resources(start.getStone(), start.getWood(), start.getGold(),
+                capacity.getStone(), capacity.getWood(), capacity.getGold());
+    }
+
+    // Resources a village starts with
+    public static ResourceAmount getStartingAmount(DifficultyLevel difficulty) {
         switch (difficulty) {
             case EASY:
-                return new Resources(300, 300, 200, 1000, 1000, 1000);
-            case NORMAL:
-                return new Resources(200, 200, 150, 500, 500, 500);
+                return EASY_START;
             case HARD:
-                return new Resources(150, 150, 100, 300, 300, 300);
+                return HARD_START;
             default:
-                return new Resources(200, 200, 150, 500, 500, 500);
+                return NORMAL_START;
         }
     }
 
-    // Add resources (for collection or conquest)
-    public void add(Resources resources) {
-        this.stone += resources.getStone();
-        this.wood += resources.getWood();
-        this.gold += resources.getGold();
+    // Storage limits a village starts with
+    public static ResourceAmount getStartingCapacity(DifficultyLevel difficulty) {
+        switch (difficulty) {
+            case EASY:
+                return EASY_CAPACITY;
+            case HARD:
+                return HARD_CAPACITY;
+            default:
+                return NORMAL_CAPACITY;
+        }
+    }
 
+    // Add resources (for collection or conquest)
+    public void add(ResourceAmount amount) {
         // When adding from conquest, we can exceed max capacity
+        economy.add(slot, amount);
     }
 
     // Add resources with limit check
-    public void addWithLimit(Resources resources) {
-        this.stone = Math.min(this.stone + resources.getStone(), maxStone);
-        this.wood = Math.min(this.wood + resources.getWood(), maxWood);
-        this.gold = Math.min(this.gold + resources.getGold(), maxGold);
+    public void addWithLimit(ResourceAmount amount) {
+        addWithLimit(amount.getStone(), amount.getWood(), amount.getGold());
+    }
+
+    public void addWithLimit(int stone, int wood, int gold) {
+        economy.addWithLimit(slot, stone, wood, gold);
+    }
+
+    // Pay 'cost' if it is covered; false leaves the ledger unchanged
+    public boolean tryDebit(ResourceAmount cost) {
+        return economy.tryDebit(slot, cost);
     }
 
-    // Check if we have enough resources
-    public boolean hasEnough(Resources cost) {
-        return this.stone >= cost.getStone() &&
-                this.wood >= cost.getWood() &&
-                this.gold >= cost.getGold();
+    // Add an amount up to the storage limits
+    public void credit(ResourceAmount amount) {
+        addWithLimit(amount);
     }
 
-    // Subtract resources (for building, training, etc.)
-    public void subtract(Resources cost) {
-        this.stone -= cost.getStone();
-        this.wood -= cost.getWood();
-        this.gold -= cost.getGold();
+    // Take as much of 'amount' as there is (raids, theft); returns what was taken
+    public ResourceAmount takeUpTo(ResourceAmount amount) {
+        return economy.takeUpTo(slot, amount);
+    }
+
+    // Check if we have enough resources. Another thread may spend them right
+    // after the check: use tryDebit to check and pay in one step
+    public boolean hasEnough(ResourceAmount cost) {
+        return getStone() >= cost.getStone() &&
+                getWood() >= cost.getWood() &&
+                getGold() >= cost.getGold();
+    }
+
+    // Subtract resources unconditionally
+    public void subtract(ResourceAmount cost) {
+        economy.subtract(slot, cost);
     }
 
     // Increase max capacity
-    public void increaseMaxCapacity(int stone, int wood, int gold) {
-        this.maxStone += stone;
-        this.maxWood += wood;
-        this.maxGold += gold;
+    public void increaseMaxCapacity(ResourceAmount increase) {
+        economy.increaseMaxCapacity(slot, increase);
     }
 
     // Getters and setters
-    public int getStone() { return stone; }
-    public int getWood() { return wood; }
-    public int getGold() { return gold; }
-    public int getMaxStone() { return maxStone; }
-    public int getMaxWood() { return maxWood; }
-    public int getMaxGold() { return maxGold; }
+    public int getStone() { return economy.getStone(slot); }
+    public int getWood() { return economy.getWood(slot); }
+    public int getGold() { return economy.getGold(slot); }
+    public int getMaxStone() { return economy.getMaxStone(slot); }
+    public int getMaxWood() { return economy.getMaxWood(slot); }
+    public int getMaxGold() { return economy.getMaxGold(slot); }
+
+    // Snapshot of the current amounts; the parts are read one by one
+    public ResourceAmount getAmount() { return ResourceAmount.of(getStone(), getWood(), getGold()); }
 
     @Override
     public String toString() {
-        return "Stone: " + stone + "/" + maxStone +
-                ", Wood: " + wood + "/" + maxWood +
-                ", Gold: " + gold + "/" + maxGold;
+        return "Stone: " + getStone() + "/" + getMaxStone() +
+                ", Wood: " + getWood() + "/" + getMaxWood() +
+                ", Gold: " + getGold() + "/" + getMaxGold();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package org.example.model;
+
+// Number of units per unit type, stored as an int[] indexed by UnitType.ordinal().
+// Arithmetic works in place and never boxes, so armies and garrisons can be
+// combined and scaled in the combat loop without allocating.
+public class UnitCounts {
+    public static final UnitType[] TYPES = UnitType.values();
+    public static final int TYPE_COUNT = TYPES.length;
+
+    private final int[] counts;
+
+    public UnitCounts() {
+        this.counts = new int[TYPE_COUNT];
+    }
+
+    public UnitCounts(UnitCounts other) {
+        this.counts = other.counts.clone();
+    }
+
+    public int get(UnitType type) {
+        return counts[type.ordinal()];
+    }
+
+    public void set(UnitType type, int count) {
+        counts[type.ordinal()] = count;
+    }
+
+    // Count by ordinal, for loops over all unit types
+    public int getAt(int ordinal) {
+        return counts[ordinal];
+    }
+
+    public void setAt(int ordinal, int count) {
+        counts[ordinal] = count;
+    }
+
+    public void add(UnitType type, int count) {
+        counts[type.ordinal()] += count;
+    }
+
+    public void add(UnitCounts other) {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public void subtract(UnitCounts other) {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            counts[i] -= other.counts[i];
+        }
+    }
+
+    // Remove (int)(count * lossFactor) units of every type, keeping the survivors
+    public void applyLosses(double lossFactor) {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            counts[i] -= (int)(counts[i] * lossFactor);
+        }
+    }
+
+    public void copyFrom(UnitCounts other) {
+        System.arraycopy(other.counts, 0, counts, 0, TYPE_COUNT);
+    }
+
+    public void clear() {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            counts[i] = 0;
+        }
+    }
+
+    public int total() {
+        int total = 0;
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    // Sum of count * weight over all unit types (weights indexed by ordinal)
+    public double dot(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            sum += counts[i] * weights[i];
+        }
+        return sum;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            if (counts[i] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            if (counts[i] != 0) {
+                if (result.length() > 0) {
+                    result.append(", ");
+                }
+                result.append(TYPES[i].getName()).append('=').append(counts[i]);
+            }
+        }
+        return result.toString();
+    }
+}
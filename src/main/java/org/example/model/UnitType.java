@@ -12,37 +12,37 @@ import org.example.utils.EventManager;
 public enum UnitType {
     // Human units
     HUMAN_SOLDIER("Soldier", Race.HUMAN, 10, 2, 5,
-            new Resources(0, 0, 50, 0, 0, 0)),
+            new ResourceAmount(0, 0, 50)),
     HUMAN_ARCHER("Archer", Race.HUMAN, 7, 7, 3,
-            new Resources(0, 30, 40, 0, 0, 0)),
+            new ResourceAmount(0, 30, 40)),
     HUMAN_KNIGHT("Knight", Race.HUMAN, 20, 5, 15,
-            new Resources(50, 0, 100, 0, 0, 0)),
+            new ResourceAmount(50, 0, 100)),
 
     // Elf units
     ELF_SCOUT("Scout", Race.ELF, 5, 5, 7,
-            new Resources(0, 20, 40, 0, 0, 0)),
+            new ResourceAmount(0, 20, 40)),
     ELF_ARCHER("Archer", Race.ELF, 5, 15, 3,
-            new Resources(0, 40, 50, 0, 0, 0)),
+            new ResourceAmount(0, 40, 50)),
     ELF_MAGE("Mage", Race.ELF, 3, 25, 5,
-            new Resources(20, 0, 150, 0, 0, 0)),
+            new ResourceAmount(20, 0, 150)),
 
     // Orc units
     ORC_GRUNT("Grunt", Race.ORC, 15, 0, 10,
-            new Resources(0, 20, 40, 0, 0, 0)),
+            new ResourceAmount(0, 20, 40)),
     ORC_RAIDER("Raider", Race.ORC, 20, 0, 5,
-            new Resources(20, 30, 60, 0, 0, 0)),
+            new ResourceAmount(20, 30, 60)),
     ORC_SHAMAN("Shaman", Race.ORC, 10, 15, 5,
-            new Resources(20, 20, 100, 0, 0, 0));
+            new ResourceAmount(20, 20, 100));
 
     private final String name;
     private final Race race;
     private final int attackPower;
     private final int magicPower;
     private final int defense;
-    private final Resources cost;
+    private final ResourceAmount cost;
 
     UnitType(String name, Race race, int attackPower, int magicPower,
-             int defense, Resources cost) {
+             int defense, ResourceAmount cost) {
         this.name = name;
         this.race = race;
         this.attackPower = attackPower;
@@ -56,7 +56,19 @@ public enum UnitType {
     public int getAttackPower() { return attackPower; }
     public int getMagicPower() { return magicPower; }
     public int getDefense() { return defense; }
-    public Resources getCost() { return cost; }
+    public ResourceAmount getCost() { return cost; }
+
+    // Days needed to train a batch of these units
+    public int getTrainingDays() {
+        switch (this) {
+            case HUMAN_KNIGHT:
+            case ELF_MAGE:
+            case ORC_SHAMAN:
+                return 2;
+            default:
+                return 1;
+        }
+    }
 
     // Get units available for a specific race
     public static UnitType[] getUnitsForRace(Race race) {
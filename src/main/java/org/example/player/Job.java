@@ -0,0 +1,65 @@
+package org.example.player;
+
+import org.example.model.BuildingType;
+import org.example.model.ResourceAmount;
+import org.example.model.UnitType;
+import org.example.utils.TimingWheel;
+
+// A construction or training run waiting in a JobQueue. Its cost was paid
+// when it was queued and is refunded if it is cancelled.
+public class Job {
+    public enum Kind { BUILD, TRAIN }
+
+    private final Kind kind;
+    private final Player owner;
+    private final BuildingType buildingType;  // BUILD only
+    private final int level;                  // Level reached when done
+    private final UnitType unitType;          // TRAIN only
+    private final int count;
+    private final ResourceAmount cost;
+    private final int completionDay;
+    private TimingWheel.Entry<Job> entry;
+
+    private Job(Kind kind, Player owner, BuildingType buildingType, int level, UnitType unitType, int count,
+                ResourceAmount cost, int completionDay) {
+        this.kind = kind;
+        this.owner = owner;
+        this.buildingType = buildingType;
+        this.level = level;
+        this.unitType = unitType;
+        this.count = count;
+        this.cost = cost;
+        this.completionDay = completionDay;
+    }
+
+    public static Job build(Player owner, BuildingType type, int level, ResourceAmount cost, int completionDay) {
+        return new Job(Kind.BUILD, owner, type, level, null, 0, cost, completionDay);
+    }
+
+    public static Job train(Player owner, UnitType type, int count, ResourceAmount cost, int completionDay) {
+        return new Job(Kind.TRAIN, owner, null, 0, type, count, cost, completionDay);
+    }
+
+    // Wheel entry, set by the queue
+    TimingWheel.Entry<Job> getEntry() { return entry; }
+    void setEntry(TimingWheel.Entry<Job> entry) { this.entry = entry; }
+
+    // Getters
+    public Kind getKind() { return kind; }
+    public Player getOwner() { return owner; }
+    public BuildingType getBuildingType() { return buildingType; }
+    public int getLevel() { return level; }
+    public UnitType getUnitType() { return unitType; }
+    public int getCount() { return count; }
+    public ResourceAmount getCost() { return cost; }
+    public int getCompletionDay() { return completionDay; }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.BUILD) {
+            return (level > 1 ? "Upgrade " + buildingType.getName() + " to level " + level
+                    : "Build " + buildingType.getName()) + " (ready on day " + completionDay + ")";
+        }
+        return "Train " + count + " " + unitType.getName() + " (ready on day " + completionDay + ")";
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.player;
+
+import org.example.utils.TimingWheel;
+
+// Construction and training jobs of every player of a game, completed by
+// day. Jobs sit in a timing wheel, so a new day only touches the jobs that
+// finish on it, however many are queued.
+public class JobQueue {
+    private static final int DEBUG_MODE = 1;
+
+    private final TimingWheel<Job> wheel;
+
+    public JobQueue(int currentDay) {
+        this.wheel = new TimingWheel<>(currentDay);
+    }
+
+    public void enqueue(Job job) {
+        job.setEntry(wheel.schedule(job, job.getCompletionDay()));
+    }
+
+    // Remove a job that has not completed yet; refunds are up to the owner
+    public boolean cancel(Job job) {
+        return job.getEntry() != null && wheel.cancel(job.getEntry());
+    }
+
+    // Complete every job due by 'day'
+    public void advanceTo(int day) {
+        int before = wheel.size();
+        wheel.advanceTo(day, job -> job.getOwner().completeJob(job));
+
+        if (DEBUG_MODE == 1 && before != wheel.size()) {
+            System.out.println("[DEBUG] Day " + day + ": " + (before - wheel.size()) + " jobs completed, " +
+                    wheel.size() + " queued");
+        }
+    }
+
+    public int getCurrentDay() { return (int) wheel.getNow(); }
+    public int size() { return wheel.size(); }
+}
@@ -0,0 +1,46 @@
+package org.example.player;
+
+import org.example.model.ResourceAmount;
+
+// Outcome of Player.submitOrders, indexed like the submitted orders.
+// Either every order was applied or none was.
+public class OrderBatch {
+    public enum Status {
+        OK,                     // Valid; applied if the batch was
+        NOT_AVAILABLE,          // Building not available to the race or Town Hall level
+        MAX_LEVEL,              // Building already at maximum level
+        UNDER_CONSTRUCTION,     // Building already queued, now or earlier in the batch
+        NO_BARRACKS,            // Training needs Barracks
+        INVALID_UNIT,           // Unit not trainable by the player's race
+        INVALID_COUNT,          // Unit count not positive
+        NOT_ENOUGH_POPULATION,  // Population capacity left by earlier orders is too small
+        NOT_ENOUGH_RESOURCES    // Resources left by earlier orders do not cover the cost
+    }
+
+    private final Status[] statuses;
+    private final boolean applied;
+    private final ResourceAmount cost;
+
+    OrderBatch(Status[] statuses, boolean applied, ResourceAmount cost) {
+        this.statuses = statuses;
+        this.applied = applied;
+        this.cost = cost;
+    }
+
+    public int size() { return statuses.length; }
+    public Status getStatus(int order) { return statuses[order]; }
+    public boolean isApplied() { return applied; }
+
+    // Total cost of the valid orders (paid only if the batch was applied)
+    public ResourceAmount getCost() { return cost; }
+
+    public int getRejectedCount() {
+        int count = 0;
+        for (Status status : statuses) {
+            if (status != Status.OK) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
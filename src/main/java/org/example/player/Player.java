@@ -1,9 +1,12 @@
 package org.example.player;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.example.combat.CombatManager;
 import org.example.combat.CombatResult;
 import org.example.map.GameMap;
@@ -18,35 +21,46 @@ public class Player {
 
     private String name;
     private Race race;
-    private DifficultyLevel difficulty;
+    private EconomyEngine economy;  // Holds the resources and building levels
+    private int slot;               // This village's slot in the economy
     private Resources resources;
-    private Map<BuildingType, Integer> buildings;  // Building type -> level
-    private Map<UnitType, Integer> units;  // Unit type -> count
-    private Map<UnitType, Integer> unitsInAttack; // Units currently attacking
+    private UnitCounts units;  // Unit type -> count
+    private UnitCounts unitsInAttack; // Units currently attacking
     private int population;
     private int maxPopulation;
     private Territory currentTerritory;
 
+    // Timed construction and training; null completes them at once
+    private JobQueue jobQueue;
+    private List<Job> pendingJobs;
+
     public Player(Race race, DifficultyLevel difficulty) {
+        this(race, difficulty, new EconomyEngine(1));
+    }
+
+    // A village hosted in a shared economy, e.g. one of many on a server
+    public Player(Race race, DifficultyLevel difficulty, EconomyEngine economy) {
         this.race = race;
-        this.difficulty = difficulty;
         this.name = "Player";
 
         // Initialize resources based on difficulty
-        this.resources = Resources.getStartingResources(difficulty);
+        this.economy = economy;
+        this.slot = economy.addVillage(difficulty);
+        this.resources = economy.getResources(slot);
 
         // Initialize buildings with level 1 Town Hall
-        this.buildings = new HashMap<>();
-        this.buildings.put(BuildingType.TOWN_HALL, 1);
+        economy.setLevel(slot, BuildingType.TOWN_HALL, 1);
 
         // Initialize empty units
-        this.units = new HashMap<>();
-        this.unitsInAttack = new HashMap<>();
+        this.units = new UnitCounts();
+        this.unitsInAttack = new UnitCounts();
 
         // Initialize population
         this.population = 0;
         this.maxPopulation = BuildingType.TOWN_HALL.getPopulationIncrease(1);
 
+        this.pendingJobs = new ArrayList<>();
+
         if (DEBUG_MODE == 1) {
             System.out.println("[DEBUG] Player initialized: Race=" + race.getName() +
                     ", Difficulty=" + difficulty.getName());
@@ -55,30 +69,12 @@ public class Player {
 
     // Collect daily resources from all buildings
     public void collectDailyResources() {
-        Resources dailyResources = new Resources(0, 0, 0, 0, 0, 0);
-
-        for (Map.Entry<BuildingType, Integer> entry : buildings.entrySet()) {
-            BuildingType buildingType = entry.getKey();
-            int level = entry.getValue();
-
-            Resources production = buildingType.getDailyProduction(level, difficulty);
-            dailyResources.add(production);
-
-            if (DEBUG_MODE == 1 && (production.getStone() > 0 || production.getWood() > 0 || production.getGold() > 0)) {
-                System.out.println("[DEBUG] Collected from " + buildingType.getName() +
-                        ": Stone=" + production.getStone() +
-                        ", Wood=" + production.getWood() +
-                        ", Gold=" + production.getGold());
-            }
-        }
-
-        // Add daily resources with limit check
-        resources.addWithLimit(dailyResources);
+        // Add daily resources with limit check (EconomyEngine.collectAll does
+        // every village of the economy at once)
+        economy.collect(slot);
 
         if (DEBUG_MODE == 1) {
-            System.out.println("[DEBUG] Total daily collection: Stone=" + dailyResources.getStone() +
-                    ", Wood=" + dailyResources.getWood() +
-                    ", Gold=" + dailyResources.getGold());
+            System.out.println("[DEBUG] Total daily collection: " + economy.getDailyProduction(slot));
         }
     }
 
@@ -93,27 +89,25 @@ public class Player {
         System.out.println("Population: " + population + "/" + maxPopulation);
 
         // Display number of buildings
-        System.out.println("Buildings: " + buildings.size() + " (Town Hall level: " +
-                buildings.get(BuildingType.TOWN_HALL) + ")");
+        System.out.println("Buildings: " + economy.countBuildings(slot) + " (Town Hall level: " +
+                getTownHallLevel() + ")");
 
         // Display total units
-        int totalUnits = 0;
-        for (int count : units.values()) {
-            totalUnits += count;
-        }
-        System.out.println("Units: " + totalUnits);
+        System.out.println("Units: " + units.total());
     }
 
     // Display detailed building information
     public void displayDetailedBuildings() {
-        for (Map.Entry<BuildingType, Integer> entry : buildings.entrySet()) {
-            BuildingType type = entry.getKey();
-            int level = entry.getValue();
+        for (BuildingType type : BuildingType.values()) {
+            int level = economy.getLevel(slot, type);
+            if (level == 0) {
+                continue;
+            }
             System.out.println(type.getName() + " (Level " + level + "/" + type.getMaxLevel() + ")");
             System.out.println("  " + type.getDescription());
 
             // Show production for resource buildings
-            Resources production = type.getDailyProduction(level, difficulty);
+            ResourceAmount production = type.getDailyProduction(level, getDifficulty());
             if (production.getStone() > 0) {
                 System.out.println("  Daily stone production: " + production.getStone());
             }
@@ -125,15 +119,15 @@ public class Player {
             }
 
             // Show capacity increase for storage buildings
-            Resources storage = type.getStorageIncrease(level);
-            if (storage.getMaxStone() > 0) {
-                System.out.println("  Stone storage: +" + storage.getMaxStone());
+            ResourceAmount storage = type.getStorageIncrease(level);
+            if (storage.getStone() > 0) {
+                System.out.println("  Stone storage: +" + storage.getStone());
             }
-            if (storage.getMaxWood() > 0) {
-                System.out.println("  Wood storage: +" + storage.getMaxWood());
+            if (storage.getWood() > 0) {
+                System.out.println("  Wood storage: +" + storage.getWood());
             }
-            if (storage.getMaxGold() > 0) {
-                System.out.println("  Gold storage: +" + storage.getMaxGold());
+            if (storage.getGold() > 0) {
+                System.out.println("  Gold storage: +" + storage.getGold());
             }
 
             // Show population increase
@@ -146,12 +140,12 @@ public class Player {
 
     // Display available buildings for construction/upgrade
     public void displayAvailableBuildings() {
-        int townHallLevel = buildings.getOrDefault(BuildingType.TOWN_HALL, 1);
+        int townHallLevel = getTownHallLevel();
         BuildingType[] availableTypes = BuildingType.getAvailableBuildings(race, townHallLevel);
 
         int index = 1;
         for (BuildingType type : availableTypes) {
-            int currentLevel = buildings.getOrDefault(type, 0);
+            int currentLevel = economy.getLevel(slot, type);
 
             // If at max level, skip
             if (currentLevel >= type.getMaxLevel()) {
@@ -160,14 +154,14 @@ public class Player {
 
             // If building exists, show upgrade option
             if (currentLevel > 0) {
-                Resources upgradeCost = type.getCostForLevel(currentLevel + 1);
+                ResourceAmount upgradeCost = type.getCostForLevel(currentLevel + 1);
                 System.out.println(index + ". Upgrade " + type.getName() + " to level " + (currentLevel + 1) +
                         " (Cost: Stone=" + upgradeCost.getStone() +
                         ", Wood=" + upgradeCost.getWood() +
                         ", Gold=" + upgradeCost.getGold() + ")");
             } else {
                 // Otherwise show new building option
-                Resources buildCost = type.getBaseCost();
+                ResourceAmount buildCost = type.getBaseCost();
                 System.out.println(index + ". Build new " + type.getName() +
                         " (Cost: Stone=" + buildCost.getStone() +
                         ", Wood=" + buildCost.getWood() +
@@ -180,7 +174,7 @@ public class Player {
 
     // Build or upgrade a building
     public void buildOrUpgrade(int choice) {
-        int townHallLevel = buildings.getOrDefault(BuildingType.TOWN_HALL, 1);
+        int townHallLevel = getTownHallLevel();
         BuildingType[] availableTypes = BuildingType.getAvailableBuildings(race, townHallLevel);
 
         // Validate choice
@@ -189,64 +183,46 @@ public class Player {
             return;
         }
 
-        BuildingType selectedType = availableTypes[choice - 1];
-        int currentLevel = buildings.getOrDefault(selectedType, 0);
-
-        // Check if at max level
-        if (currentLevel >= selectedType.getMaxLevel()) {
-            System.out.println(selectedType.getName() + " is already at maximum level.");
-            return;
-        }
-
-        // Calculate cost
-        Resources cost;
-        if (currentLevel > 0) {
-            // Upgrade
-            cost = selectedType.getCostForLevel(currentLevel + 1);
-        } else {
-            // New building
-            cost = selectedType.getBaseCost();
-        }
+        submitOrder(VillageOrder.build(availableTypes[choice - 1]));
+    }
 
-        // Check resources
-        if (!resources.hasEnough(cost)) {
-            System.out.println("Not enough resources to build/upgrade " + selectedType.getName());
-            return;
+    private boolean isUnderConstruction(BuildingType type) {
+        for (Job job : pendingJobs) {
+            if (job.getBuildingType() == type) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Deduct resources
-        resources.subtract(cost);
-
+    private void completeBuilding(BuildingType type, int level, boolean announce) {
         // Update building
-        buildings.put(selectedType, currentLevel + 1);
+        economy.setLevel(slot, type, level);
 
         // Update storage capacity
-        Resources storageIncrease = selectedType.getStorageIncrease(currentLevel + 1);
-        resources.increaseMaxCapacity(
-                storageIncrease.getMaxStone(),
-                storageIncrease.getMaxWood(),
-                storageIncrease.getMaxGold()
-        );
+        resources.increaseMaxCapacity(type.getStorageIncrease(level));
 
         // Update population capacity
-        maxPopulation += selectedType.getPopulationIncrease(currentLevel + 1);
+        maxPopulation += type.getPopulationIncrease(level);
 
-        if (currentLevel > 0) {
-            System.out.println(selectedType.getName() + " upgraded to level " + (currentLevel + 1));
-        } else {
-            System.out.println("New " + selectedType.getName() + " built");
+        if (announce) {
+            if (level > 1) {
+                System.out.println(type.getName() + " upgraded to level " + level);
+            } else {
+                System.out.println("New " + type.getName() + " built");
+            }
         }
 
         if (DEBUG_MODE == 1) {
-            System.out.println("[DEBUG] Building update: " + selectedType.getName() +
-                    " now at level " + buildings.get(selectedType));
+            System.out.println("[DEBUG] Building update: " + type.getName() +
+                    " now at level " + economy.getLevel(slot, type));
         }
     }
 
     // Display available units for training
     public void displayAvailableUnits() {
         // Check if player has barracks
-        if (!buildings.containsKey(BuildingType.BARRACKS)) {
+        if (economy.getLevel(slot, BuildingType.BARRACKS) == 0) {
             System.out.println("You need to build Barracks first to train units.");
             return;
         }
@@ -255,7 +231,7 @@ public class Player {
 
         int index = 1;
         for (UnitType unitType : raceUnits) {
-            Resources cost = unitType.getCost();
+            ResourceAmount cost = unitType.getCost();
             System.out.println(index + ". " + unitType.getName() +
                     " (Cost: Stone=" + cost.getStone() +
                     ", Wood=" + cost.getWood() +
@@ -270,7 +246,7 @@ public class Player {
     // Train units
     public void trainUnits(int choice, int count) {
         // Check if player has barracks
-        if (!buildings.containsKey(BuildingType.BARRACKS)) {
+        if (economy.getLevel(slot, BuildingType.BARRACKS) == 0) {
             System.out.println("You need to build Barracks first to train units.");
             return;
         }
@@ -282,50 +258,256 @@ public class Player {
             return;
         }
 
-        // Validate count
-        if (count <= 0) {
-            System.out.println("Invalid unit count.");
+        submitOrder(VillageOrder.train(raceUnits[choice - 1], count));
+    }
+
+    // ----- Orders -----
+
+    // Check and apply one order, explaining a rejection
+    private void submitOrder(VillageOrder order) {
+        ResourceAmount cost = getOrderCost(order);
+        OrderBatch.Status status = checkOrder(order, cost, ResourceAmount.ZERO, 0, EnumSet.noneOf(BuildingType.class));
+        if (status != OrderBatch.Status.OK) {
+            System.out.println(describeRejection(order, status));
             return;
         }
 
-        UnitType selectedType = raceUnits[choice - 1];
-
-        // Check population capacity
-        if (population + count > maxPopulation) {
-            System.out.println("Not enough population capacity. Build more houses.");
+        // Deduct resources; fails if another thread spent them since the check
+        if (!resources.tryDebit(cost)) {
+            System.out.println(describeRejection(order, OrderBatch.Status.NOT_ENOUGH_RESOURCES));
             return;
         }
+        applyOrder(order, cost, true);
+    }
+
+    // Submit a whole plan at once, e.g. from a script or an AI. Every order is
+    // checked against what the orders before it already use up; if any fails,
+    // nothing is applied. Prints one summary instead of a line per order.
+    public OrderBatch submitOrders(List<VillageOrder> orders) {
+        int count = orders.size();
+        OrderBatch.Status[] statuses = new OrderBatch.Status[count];
+        ResourceAmount[] costs = new ResourceAmount[count];
+        ResourceAmount committed;
+        boolean valid;
+
+        // Check every order, then pay the total in one step. If another thread
+        // spent resources in between, the debit fails and the batch is checked again
+        do {
+            committed = ResourceAmount.ZERO;
+            int committedPopulation = 0;
+            Set<BuildingType> building = EnumSet.noneOf(BuildingType.class);
+            valid = true;
+
+            for (int i = 0; i < count; i++) {
+                VillageOrder order = orders.get(i);
+                costs[i] = getOrderCost(order);
+                statuses[i] = checkOrder(order, costs[i], committed, committedPopulation, building);
+                if (statuses[i] != OrderBatch.Status.OK) {
+                    valid = false;
+                    continue;
+                }
+
+                committed = committed.plus(costs[i]);
+                if (order.isBuild()) {
+                    building.add(order.getBuildingType());
+                } else {
+                    committedPopulation += order.getCount();
+                }
+            }
+        } while (valid && !resources.tryDebit(committed));
+
+        if (valid) {
+            for (int i = 0; i < count; i++) {
+                applyOrder(orders.get(i), costs[i], false);
+            }
+            System.out.println("Orders applied: " + count + " (Cost: " + committed + ")");
+        } else {
+            System.out.println("Orders rejected, nothing was applied:");
+            for (int i = 0; i < count; i++) {
+                if (statuses[i] != OrderBatch.Status.OK) {
+                    System.out.println("  " + (i + 1) + ". " + orders.get(i) + " - " +
+                            describeRejection(orders.get(i), statuses[i]));
+                }
+            }
+        }
 
-        // Calculate total cost
-        Resources unitCost = selectedType.getCost();
-        Resources totalCost = new Resources(
-                unitCost.getStone() * count,
-                unitCost.getWood() * count,
-                unitCost.getGold() * count,
-                0, 0, 0
-        );
+        if (DEBUG_MODE == 1) {
+            System.out.println("[DEBUG] Order batch: " + count + " orders, " +
+                    (valid ? "applied" : "rejected") + ", Resources: " + resources);
+        }
 
-        // Check resources
-        if (!resources.hasEnough(totalCost)) {
-            System.out.println("Not enough resources to train " + count + " " + selectedType.getName() + " units.");
+        return new OrderBatch(statuses, valid, committed);
+    }
+
+    private ResourceAmount getOrderCost(VillageOrder order) {
+        if (!order.isBuild()) {
+            return order.getUnitType().getCost().times(Math.max(0, order.getCount()));
+        }
+        int currentLevel = economy.getLevel(slot, order.getBuildingType());
+        return currentLevel > 0 ? order.getBuildingType().getCostForLevel(currentLevel + 1)
+                : order.getBuildingType().getBaseCost();
+    }
+
+    // Validate an order on top of what earlier orders of the same batch use:
+    // 'committed' resources, 'committedPopulation' and the 'building' types
+    private OrderBatch.Status checkOrder(VillageOrder order, ResourceAmount cost, ResourceAmount committed,
+                                         int committedPopulation, Set<BuildingType> building) {
+        if (order.isBuild()) {
+            BuildingType type = order.getBuildingType();
+            if (!isAvailable(type)) {
+                return OrderBatch.Status.NOT_AVAILABLE;
+            }
+            if (economy.getLevel(slot, type) >= type.getMaxLevel()) {
+                return OrderBatch.Status.MAX_LEVEL;
+            }
+            // One construction per building at a time
+            if (isUnderConstruction(type) || building.contains(type)) {
+                return OrderBatch.Status.UNDER_CONSTRUCTION;
+            }
+        } else {
+            if (economy.getLevel(slot, BuildingType.BARRACKS) == 0) {
+                return OrderBatch.Status.NO_BARRACKS;
+            }
+            if (order.getUnitType().getRace() != race) {
+                return OrderBatch.Status.INVALID_UNIT;
+            }
+            if (order.getCount() <= 0) {
+                return OrderBatch.Status.INVALID_COUNT;
+            }
+            if (population + committedPopulation + order.getCount() > maxPopulation) {
+                return OrderBatch.Status.NOT_ENOUGH_POPULATION;
+            }
+        }
+
+        if (!resources.hasEnough(committed.plus(cost))) {
+            return OrderBatch.Status.NOT_ENOUGH_RESOURCES;
+        }
+        return OrderBatch.Status.OK;
+    }
+
+    private boolean isAvailable(BuildingType type) {
+        for (BuildingType available : BuildingType.getAvailableBuildings(race, getTownHallLevel())) {
+            if (available == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String describeRejection(VillageOrder order, OrderBatch.Status status) {
+        String name = order.isBuild() ? order.getBuildingType().getName() : order.getUnitType().getName();
+        switch (status) {
+            case NOT_AVAILABLE:
+                return name + " is not available yet.";
+            case MAX_LEVEL:
+                return name + " is already at maximum level.";
+            case UNDER_CONSTRUCTION:
+                return name + " is already under construction.";
+            case NO_BARRACKS:
+                return "You need to build Barracks first to train units.";
+            case INVALID_UNIT:
+                return name + " units cannot be trained by your race.";
+            case INVALID_COUNT:
+                return "Invalid unit count.";
+            case NOT_ENOUGH_POPULATION:
+                return "Not enough population capacity. Build more houses.";
+            case NOT_ENOUGH_RESOURCES:
+                return order.isBuild() ? "Not enough resources to build/upgrade " + name
+                        : "Not enough resources to train " + order.getCount() + " " + name + " units.";
+            default:
+                return "OK";
+        }
+    }
+
+    // Start a validated order whose cost was already deducted
+    private void applyOrder(VillageOrder order, ResourceAmount cost, boolean announce) {
+        if (order.isBuild()) {
+            BuildingType type = order.getBuildingType();
+            int level = economy.getLevel(slot, type) + 1;
+            if (jobQueue != null) {
+                enqueue(Job.build(this, type, level, cost, jobQueue.getCurrentDay() + type.getBuildDays(level)),
+                        announce);
+            } else {
+                completeBuilding(type, level, announce);
+            }
             return;
         }
 
-        // Deduct resources
-        resources.subtract(totalCost);
+        // Update population (units in training already take their place)
+        UnitType type = order.getUnitType();
+        population += order.getCount();
+        if (jobQueue != null) {
+            enqueue(Job.train(this, type, order.getCount(), cost, jobQueue.getCurrentDay() + type.getTrainingDays()),
+                    announce);
+        } else {
+            completeTraining(type, order.getCount(), announce);
+        }
+    }
 
+    private void completeTraining(UnitType type, int count, boolean announce) {
         // Add units
-        int currentCount = units.getOrDefault(selectedType, 0);
-        units.put(selectedType, currentCount + count);
+        units.add(type, count);
 
-        // Update population
-        population += count;
-
-        System.out.println("Trained " + count + " " + selectedType.getName() + " units.");
+        if (announce) {
+            System.out.println("Trained " + count + " " + type.getName() + " units.");
+        }
 
         if (DEBUG_MODE == 1) {
-            System.out.println("[DEBUG] Units trained: " + count + " " + selectedType.getName() +
-                    ", Total: " + units.get(selectedType));
+            System.out.println("[DEBUG] Units trained: " + count + " " + type.getName() +
+                    ", Total: " + units.get(type));
+        }
+    }
+
+    // ----- Job queue -----
+
+    private void enqueue(Job job, boolean announce) {
+        jobQueue.enqueue(job);
+        pendingJobs.add(job);
+        if (announce) {
+            System.out.println("Queued: " + job);
+        }
+    }
+
+    // Called by the JobQueue when a job's day has come
+    void completeJob(Job job) {
+        pendingJobs.remove(job);
+        if (job.getKind() == Job.Kind.BUILD) {
+            completeBuilding(job.getBuildingType(), job.getLevel(), true);
+        } else {
+            completeTraining(job.getUnitType(), job.getCount(), true);
+        }
+    }
+
+    // Cancel the n-th pending job (1-based, as listed by displayJobs) and refund its cost
+    public void cancelJob(int choice) {
+        if (choice < 1 || choice > pendingJobs.size()) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+
+        Job job = pendingJobs.get(choice - 1);
+        if (!jobQueue.cancel(job)) {
+            System.out.println("That job has already finished.");
+            return;
+        }
+        pendingJobs.remove(choice - 1);
+
+        // Refund in full, even above storage capacity
+        resources.add(job.getCost());
+        if (job.getKind() == Job.Kind.TRAIN) {
+            population -= job.getCount();
+        }
+
+        System.out.println("Cancelled: " + job + " - refunded " + job.getCost());
+    }
+
+    public void displayJobs() {
+        if (pendingJobs.isEmpty()) {
+            System.out.println("Nothing under construction or in training.");
+            return;
+        }
+        for (int i = 0; i < pendingJobs.size(); i++) {
+            System.out.println((i + 1) + ". " + pendingJobs.get(i));
         }
     }
 
@@ -336,9 +518,11 @@ public class Player {
             return;
         }
 
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
+        for (UnitType type : UnitCounts.TYPES) {
+            int count = units.get(type);
+            if (count <= 0) {
+                continue;
+            }
 
             System.out.println(type.getName() + ": " + count + " units");
             System.out.println("  Attack: " + type.getAttackPower() +
@@ -359,9 +543,11 @@ public class Player {
         int totalMagicPower = 0;
         int totalDefense = 0;
 
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
+        for (UnitType type : UnitCounts.TYPES) {
+            int count = units.get(type);
+            if (count <= 0) {
+                continue;
+            }
 
             System.out.println(type.getName() + ": " + count + " units");
             System.out.println("  Attack: " + type.getAttackPower() +
@@ -383,31 +569,21 @@ public class Player {
 
     // Check if player has any units
     public boolean hasUnits() {
-        if (units.isEmpty()) {
-            return false;
-        }
-
-        for (int count : units.values()) {
-            if (count > 0) {
-                return true;
-            }
-        }
-
-        return false;
+        return !units.isEmpty();
     }
 
     // Get count of a specific unit type
     public int getUnitCount(UnitType unitType) {
-        return units.getOrDefault(unitType, 0);
+        return units.get(unitType);
     }
 
     // Get available unit types
     public List<UnitType> getAvailableUnitTypes() {
         List<UnitType> result = new ArrayList<>();
 
-        for (Map.Entry<UnitType, Integer> entry : units.entrySet()) {
-            if (entry.getValue() > 0) {
-                result.add(entry.getKey());
+        for (UnitType type : UnitCounts.TYPES) {
+            if (units.get(type) > 0) {
+                result.add(type);
             }
         }
 
@@ -416,7 +592,7 @@ public class Player {
 
     // Assign units to attack
     public void assignUnitsToAttack(UnitType unitType, int count) {
-        int available = units.getOrDefault(unitType, 0);
+        int available = units.get(unitType);
 
         if (count <= 0) {
             return;
@@ -427,12 +603,9 @@ public class Player {
             System.out.println("Only " + count + " " + unitType.getName() + " units available.");
         }
 
-        // Remove from available units
-        units.put(unitType, available - count);
-
-        // Add to attack units
-        int attackingCount = unitsInAttack.getOrDefault(unitType, 0);
-        unitsInAttack.put(unitType, attackingCount + count);
+        // Move from available units to attack units
+        units.add(unitType, -count);
+        unitsInAttack.add(unitType, count);
 
         if (DEBUG_MODE == 1) {
             System.out.println("[DEBUG] Assigned to attack: " + count + " " + unitType.getName());
@@ -440,31 +613,32 @@ public class Player {
     }
 
     // Return attacking units (survivors) to available units
-    public void returnAttackingUnits(Map<UnitType, Integer> survivors) {
-        for (Map.Entry<UnitType, Integer> entry : survivors.entrySet()) {
-            UnitType type = entry.getKey();
-            int count = entry.getValue();
+    public void returnAttackingUnits(UnitCounts survivors) {
+        // Add to available units
+        units.add(survivors);
 
-            // Add to available units
-            int available = units.getOrDefault(type, 0);
-            units.put(type, available + count);
-
-            if (DEBUG_MODE == 1) {
-                System.out.println("[DEBUG] Returned from attack: " + count + " " + type.getName());
-            }
+        if (DEBUG_MODE == 1 && !survivors.isEmpty()) {
+            System.out.println("[DEBUG] Returned from attack: " + survivors);
         }
 
         // Clear attacking units
         unitsInAttack.clear();
     }
 
+    // Apply a batch battle: remove the army that fought and add back its survivors.
+    // Batch armies never pass through unitsInAttack, so that is left untouched
+    public void settleBattle(UnitCounts army, UnitCounts survivors) {
+        units.subtract(army);
+        units.add(survivors);
+    }
+
     // Get attacking units
-    public Map<UnitType, Integer> getAttackingUnits() {
+    public UnitCounts getAttackingUnits() {
         return unitsInAttack;
     }
 
     // Add resources from conquest
-    public void addResources(Resources captured) {
+    public void addResources(ResourceAmount captured) {
         resources.add(captured);
 
         if (DEBUG_MODE == 1) {
@@ -477,13 +651,28 @@ public class Player {
 
     // Getters and setters
     public Race getRace() { return race; }
-    public DifficultyLevel getDifficulty() { return difficulty; }
-    public int getTownHallLevel() { return buildings.getOrDefault(BuildingType.TOWN_HALL, 1); }
+    public DifficultyLevel getDifficulty() { return economy.getDifficulty(slot); }
+    public void setDifficulty(DifficultyLevel difficulty) { economy.setDifficulty(slot, difficulty); }
+    public int getTownHallLevel() { return Math.max(1, economy.getLevel(slot, BuildingType.TOWN_HALL)); }
     public Resources getResources() { return resources; }
-    public Map<BuildingType, Integer> getBuildings() { return buildings; }
-    public Map<UnitType, Integer> getUnits() { return units; }
+    public ResourceAmount getDailyProduction() { return economy.getDailyProduction(slot); }
+    public EconomyEngine getEconomy() { return economy; }
+
+    // Building type -> level, for the buildings that exist
+    public Map<BuildingType, Integer> getBuildings() {
+        Map<BuildingType, Integer> buildings = new EnumMap<>(BuildingType.class);
+        for (BuildingType type : BuildingType.values()) {
+            if (economy.getLevel(slot, type) > 0) {
+                buildings.put(type, economy.getLevel(slot, type));
+            }
+        }
+        return Collections.unmodifiableMap(buildings);
+    }
+    public UnitCounts getUnits() { return units; }
     public int getPopulation() { return population; }
     public int getMaxPopulation() { return maxPopulation; }
+    public List<Job> getPendingJobs() { return Collections.unmodifiableList(pendingJobs); }
+    public void setJobQueue(JobQueue jobQueue) { this.jobQueue = jobQueue; }
 
     public Territory getCurrentTerritory() { return currentTerritory; }
     public void setCurrentTerritory(Territory territory) { this.currentTerritory = territory; }
@@ -0,0 +1,38 @@
+package org.example.player;
+
+import org.example.model.BuildingType;
+import org.example.model.UnitType;
+
+// One build or train order submitted to Player.submitOrders
+public class VillageOrder {
+    private final BuildingType buildingType;  // Build orders
+    private final UnitType unitType;          // Train orders
+    private final int count;
+
+    private VillageOrder(BuildingType buildingType, UnitType unitType, int count) {
+        this.buildingType = buildingType;
+        this.unitType = unitType;
+        this.count = count;
+    }
+
+    // Build the building, or upgrade it one level if it exists
+    public static VillageOrder build(BuildingType type) {
+        return new VillageOrder(type, null, 0);
+    }
+
+    public static VillageOrder train(UnitType type, int count) {
+        return new VillageOrder(null, type, count);
+    }
+
+    public boolean isBuild() { return buildingType != null; }
+
+    // Getters
+    public BuildingType getBuildingType() { return buildingType; }
+    public UnitType getUnitType() { return unitType; }
+    public int getCount() { return count; }
+
+    @Override
+    public String toString() {
+        return isBuild() ? "Build " + buildingType.getName() : "Train " + count + " " + unitType.getName();
+    }
+}
@@ -1,25 +1,34 @@
 package org.example.utils;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import org.example.combat.CombatManager;
 import org.example.combat.CombatResult;
 import org.example.map.GameMap;
 import org.example.map.Territory;
 import org.example.model.DifficultyLevel;
 import org.example.model.Race;
-import org.example.model.Resources;
+import org.example.model.ResourceAmount;
+import org.example.model.UnitCounts;
 import org.example.model.UnitType;
 import org.example.player.Player;
 import org.example.utils.Event;
 import org.example.utils.EventManager;
 public class EventManager {
     private static final int DEBUG_MODE = 1;
+    private static final ResourceAmount BANDIT_LOSS = new ResourceAmount(30, 30, 20);  // At most
 
     private List<Event> positiveEvents;
     private List<Event> neutralEvents;
     private List<Event> negativeEvents;
+    private RandomGenerator random;
 
     public EventManager() {
+        this(GameRandom.create());
+    }
+
+    public EventManager(RandomGenerator random) {
+        this.random = random;
         initializeEvents();
     }
 
@@ -34,7 +43,7 @@ public class EventManager {
                 "Gold Discovery",
                 "Your miners have discovered a rich gold vein!",
                 (player) -> {
-                    Resources bonus = new Resources(0, 0, 100, 0, 0, 0);
+                    ResourceAmount bonus = new ResourceAmount(0, 0, 100);
                     player.getResources().addWithLimit(bonus);
                     if (DEBUG_MODE == 1) {
                         System.out.println("[DEBUG] Event: Added 100 gold");
@@ -61,7 +70,7 @@ public class EventManager {
                 "A group of skilled craftsmen joins your village.",
                 (player) -> {
                     // Add some resources
-                    Resources bonus = new Resources(50, 50, 30, 0, 0, 0);
+                    ResourceAmount bonus = new ResourceAmount(50, 50, 30);
                     player.getResources().addWithLimit(bonus);
                     if (DEBUG_MODE == 1) {
                         System.out.println("[DEBUG] Event: Added 50 stone, 50 wood, 30 gold");
@@ -101,15 +110,9 @@ public class EventManager {
                 "A small group of bandits has raided your supply stores!",
                 (player) -> {
                     // Lose some resources
-                    Resources loss = new Resources(
-                            Math.min(30, player.getResources().getStone()),
-                            Math.min(30, player.getResources().getWood()),
-                            Math.min(20, player.getResources().getGold()),
-                            0, 0, 0
-                    );
-                    player.getResources().subtract(loss);
+                    ResourceAmount loss = player.getResources().takeUpTo(BANDIT_LOSS);
                     if (DEBUG_MODE == 1) {
-                        System.out.println("[DEBUG] Event: Lost resources to bandits");
+                        System.out.println("[DEBUG] Event: Lost resources to bandits: " + loss);
                     }
                 },
                 "You lost some resources to the bandits."
@@ -120,14 +123,16 @@ public class EventManager {
                 "A disease has spread among your village!",
                 (player) -> {
                     // Lose some units
-                    Map<UnitType, Integer> units = player.getUnits();
-                    for (Map.Entry<UnitType, Integer> entry : new HashMap<>(units).entrySet()) {
-                        UnitType type = entry.getKey();
-                        int count = entry.getValue();
+                    UnitCounts units = player.getUnits();
+                    for (UnitType type : UnitCounts.TYPES) {
+                        int count = units.get(type);
+                        if (count <= 0) {
+                            continue;
+                        }
 
                         // Lose 10% of units
                         int losses = Math.max(1, count / 10);
-                        units.put(type, count - losses);
+                        units.set(type, count - losses);
 
                         if (DEBUG_MODE == 1) {
                             System.out.println("[DEBUG] Event: Lost " + losses + " " + type.getName() + " units to disease");
@@ -152,8 +157,6 @@ public class EventManager {
 
     // Generate a random event based on difficulty
     public Event generateRandomEvent(DifficultyLevel difficulty) {
-        Random random = new Random();
-
         // Determine event type based on difficulty
         double positiveChance;
         double neutralChance;
@@ -0,0 +1,29 @@
+package org.example.utils;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Random number generators for a game. Each game owns one generator seeded
+// from its game seed and hands a split of it to every subsystem, so a game
+// can be replayed from its seed and games running side by side never share
+// the global Math.random generator. Splits can be forked again for parallel
+// workers.
+public final class GameRandom {
+    public static final String ALGORITHM = "L64X128MixRandom";
+
+    private static final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> FACTORY =
+            RandomGeneratorFactory.of(ALGORITHM);
+
+    private GameRandom() {
+    }
+
+    // Generator for a game with the given seed
+    public static RandomGenerator.SplittableGenerator create(long seed) {
+        return FACTORY.create(seed);
+    }
+
+    // Generator seeded from system entropy, for code run outside a game
+    public static RandomGenerator.SplittableGenerator create() {
+        return FACTORY.create();
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.utils;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: schedules items for a future tick and hands
+// them back when time reaches it. Level 0 has one slot per tick, each level
+// above has slots 64 times wider. An item sits in the level matching how far
+// away it is and drops one level each time its wider slot comes up, so
+// advancing time costs O(ticks + due items) however many items wait.
+// Scheduling and cancelling are O(1).
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;  // 64^4 ticks ahead; later items wait in the top level
+
+    // A scheduled item; keep it to cancel the item
+    public static final class Entry<T> {
+        private final T item;
+        private final long deadline;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T getItem() { return item; }
+        public long getDeadline() { return deadline; }
+        public boolean isScheduled() { return next != null; }
+    }
+
+    // slots[level][slot] is the sentinel of a circular list
+    private final Entry<T>[][] slots;
+    private long now;
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.now = startTick;
+        @SuppressWarnings("unchecked") Entry<T>[][] slots = (Entry<T>[][]) new Entry<?>[LEVELS][SLOTS];
+        this.slots = slots;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Entry<T> sentinel = new Entry<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    // Schedule an item; a deadline that has already passed fires on the next advance
+    public Entry<T> schedule(T item, long deadline) {
+        Entry<T> entry = new Entry<>(item, deadline);
+        place(entry, now + 1);
+        size++;
+        return entry;
+    }
+
+    public boolean cancel(Entry<T> entry) {
+        if (!entry.isScheduled()) {
+            return false;
+        }
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    // Move time forward to 'tick', handing every item due by then to 'due',
+    // one tick after the other
+    public void advanceTo(long tick, Consumer<T> due) {
+        while (now < tick) {
+            now++;
+            cascade(1);
+
+            Entry<T> sentinel = slots[0][(int)(now & SLOT_MASK)];
+            while (sentinel.next != sentinel) {
+                Entry<T> entry = sentinel.next;
+                unlink(entry);
+                size--;
+                due.accept(entry.item);
+            }
+        }
+    }
+
+    // When the lower levels wrap around, the next slot of 'level' is spread
+    // over the levels below (after its own next slot, if it wrapped too)
+    private void cascade(int level) {
+        if (level >= LEVELS || (now & ((1L << (level * SLOT_BITS)) - 1)) != 0) {
+            return;
+        }
+        cascade(level + 1);
+
+        Entry<T> sentinel = slots[level][(int)((now >>> (level * SLOT_BITS)) & SLOT_MASK)];
+        while (sentinel.next != sentinel) {
+            Entry<T> entry = sentinel.next;
+            unlink(entry);
+            place(entry, now);  // Slot 'now' of level 0 is handled right after
+        }
+    }
+
+    // Put the entry in the slot of its deadline, or of 'earliest' if that is later
+    private void place(Entry<T> entry, long earliest) {
+        long deadline = Math.max(entry.deadline, earliest);
+        long delta = deadline - now;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << ((level + 1) * SLOT_BITS)) {
+            level++;
+        }
+        if (delta >= 1L << (LEVELS * SLOT_BITS)) {
+            // Too far ahead: park in the farthest top-level slot and re-place from there
+            deadline = now + (1L << (LEVELS * SLOT_BITS)) - 1;
+        }
+
+        Entry<T> sentinel = slots[level][(int)((deadline >>> (level * SLOT_BITS)) & SLOT_MASK)];
+        entry.prev = sentinel.prev;
+        entry.next = sentinel;
+        sentinel.prev.next = entry;
+        sentinel.prev = entry;
+    }
+
+    private void unlink(Entry<T> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    public long getNow() { return now; }
+    public int size() { return size; }
+}
@@ -0,0 +1,91 @@
+package org.example.combat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.example.map.GameMap;
+import org.example.map.MapConfig;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.example.utils.GameRandom;
+import org.junit.jupiter.api.Test;
+
+class BattleBatchTest {
+    private static UnitCounts army(int soldiers, int knights) {
+        UnitCounts army = new UnitCounts();
+        army.set(UnitType.HUMAN_SOLDIER, soldiers);
+        army.set(UnitType.HUMAN_KNIGHT, knights);
+        return army;
+    }
+
+    private static Player player(int soldiers, int knights) {
+        Player player = new Player(Race.HUMAN, DifficultyLevel.NORMAL);
+        player.getUnits().clear();
+        player.getUnits().add(army(soldiers, knights));
+        return player;
+    }
+
+    // Orders covering every status, fought on a fresh copy of the same map
+    private static BattleBatch runBatch(long seed, Player player) {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setSeed(1234L);
+        GameMap map = new GameMap(DifficultyLevel.NORMAL, config);
+        map.placePlayerStart(player);
+        CombatManager combat = new CombatManager(GameRandom.create(seed));
+
+        return combat.resolveBatch(List.of(
+                new BattleOrder(player, map.getTerritoryById(2), army(10, 2)),
+                new BattleOrder(player, map.getTerritoryById(2), army(1, 0)),
+                new BattleOrder(player, map.getTerritoryById(1), army(1, 0)),
+                new BattleOrder(player, map.getTerritoryById(3), army(10, 2)),
+                new BattleOrder(player, map.getTerritoryById(4), army(10, 2))));
+    }
+
+    @Test
+    void ordersAreCheckedInSubmissionOrder() {
+        BattleBatch batch = runBatch(42L, player(20, 4));
+
+        assertEquals(5, batch.size());
+        assertEquals(BattleBatch.Status.RESOLVED, batch.getStatus(0));
+        assertEquals(BattleBatch.Status.TARGET_CONFLICT, batch.getStatus(1));
+        assertEquals(BattleBatch.Status.OWN_TERRITORY, batch.getStatus(2));
+        assertEquals(BattleBatch.Status.RESOLVED, batch.getStatus(3));
+        assertEquals(BattleBatch.Status.NOT_ENOUGH_UNITS, batch.getStatus(4));
+        assertEquals(2, batch.getResolvedCount());
+        assertNull(batch.getResult(1));
+        assertFalse(batch.isVictory(4));
+    }
+
+    @Test
+    void armiesAreReplacedBySurvivors() {
+        Player player = player(20, 4);
+        BattleBatch batch = runBatch(42L, player);
+
+        // Both resolved armies used everything, so only survivors remain
+        UnitCounts expected = new UnitCounts();
+        expected.add(batch.getResult(0).getSurvivingUnits());
+        expected.add(batch.getResult(3).getSurvivingUnits());
+        for (UnitType type : UnitType.values()) {
+            assertEquals(expected.get(type), player.getUnitCount(type));
+        }
+        assertTrue(player.getAttackingUnits().isEmpty());
+    }
+
+    @Test
+    void sameSeedGivesSameBatch() {
+        BattleBatch first = runBatch(7L, player(20, 4));
+        BattleBatch second = runBatch(7L, player(20, 4));
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.getStatus(i), second.getStatus(i));
+            assertEquals(first.isVictory(i), second.isVictory(i));
+            if (first.getResult(i) != null) {
+                assertEquals(first.getResult(i).getPlayerLosses(), second.getResult(i).getPlayerLosses());
+                assertEquals(first.getResult(i).getEnemyLosses(), second.getResult(i).getEnemyLosses());
+            }
+        }
+    }
+}
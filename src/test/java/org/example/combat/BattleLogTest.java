@@ -0,0 +1,143 @@
+package org.example.combat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BattleLogTest {
+    @TempDir
+    Path directory;
+
+    private final Player player = new Player(Race.HUMAN, DifficultyLevel.NORMAL);
+
+    private static UnitCounts units(int soldiers, int grunts) {
+        UnitCounts units = new UnitCounts();
+        units.set(UnitType.HUMAN_SOLDIER, soldiers);
+        units.set(UnitType.ORC_GRUNT, grunts);
+        return units;
+    }
+
+    // Battle i, with values that need 1 to 5 varint bytes
+    private void append(BattleLog log, int i) {
+        int big = i % 2 == 0 ? i : Integer.MAX_VALUE - i;
+        log.setDay(i);
+        log.append(i % 2, player, big, units(i, 0), units(0, big), i % 3 == 0 ? Double.NaN : 1.0 / (i + 2),
+                i % 2 == 0, units(i / 2, 0), units(0, 127 + i));
+    }
+
+    private static void assertBattle(int i, BattleRecord record) {
+        int big = i % 2 == 0 ? i : Integer.MAX_VALUE - i;
+        assertEquals(i % 2, record.getKind());
+        assertEquals(i, record.getDay());
+        assertEquals(0, record.getPlayerId());
+        assertEquals(big, record.getTerritoryId());
+        assertEquals(i, record.getAttackers().get(UnitType.HUMAN_SOLDIER));
+        assertEquals(big, record.getDefenders().get(UnitType.ORC_GRUNT));
+        assertEquals(i % 2 == 0, record.isAttackerVictory());
+        assertEquals(i / 2, record.getAttackerSurvivors().get(UnitType.HUMAN_SOLDIER));
+        assertEquals(127 + i, record.getDefenderSurvivors().get(UnitType.ORC_GRUNT));
+        if (i % 3 == 0) {
+            assertTrue(Double.isNaN(record.getRoll()));
+        } else {
+            assertEquals(1.0 / (i + 2), record.getRoll(), 1e-15);
+        }
+    }
+
+    private static void appendBytes(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void recordsRoundTrip() throws IOException {
+        // Enough battles to hand off several buffers
+        try (BattleLog log = BattleLog.open(directory.resolve("battles.log"))) {
+            for (int i = 0; i < 5_000; i++) {
+                append(log, i);
+            }
+            assertBattle(4_999, log.read(4_999));
+            assertBattle(17, log.read(17));
+
+            List<BattleRecord> scanned = new ArrayList<>();
+            log.scan(scanned::add);
+            assertEquals(5_000, scanned.size());
+            for (int i = 0; i < scanned.size(); i++) {
+                assertBattle(i, scanned.get(i));
+            }
+        }
+    }
+
+    @Test
+    void reopenedLogAppends() throws IOException {
+        Path file = directory.resolve("battles.log");
+        try (BattleLog log = BattleLog.open(file)) {
+            for (int i = 0; i < 10; i++) {
+                append(log, i);
+            }
+        }
+        try (BattleLog log = BattleLog.open(file)) {
+            assertEquals(10, log.size());
+            append(log, 10);
+            assertBattle(3, log.read(3));
+            assertBattle(10, log.read(10));
+        }
+    }
+
+    @Test
+    void missingIndexIsRebuilt() throws IOException {
+        Path file = directory.resolve("battles.log");
+        try (BattleLog log = BattleLog.open(file)) {
+            for (int i = 0; i < 3_000; i++) {
+                append(log, i);
+            }
+        }
+        Files.delete(directory.resolve("battles.log.idx"));
+
+        try (BattleLog log = BattleLog.open(file)) {
+            assertEquals(3_000, log.size());
+            assertBattle(0, log.read(0));
+            assertBattle(2_999, log.read(2_999));
+        }
+    }
+
+    @Test
+    void tornTailIsDropped() throws IOException {
+        Path file = directory.resolve("battles.log");
+        Path indexFile = directory.resolve("battles.log.idx");
+        try (BattleLog log = BattleLog.open(file)) {
+            for (int i = 0; i < 5; i++) {
+                append(log, i);
+            }
+        }
+        long dataSize = Files.size(file);
+
+        // Half a record, an index entry past the data and half an index entry
+        appendBytes(file, new byte[] {(byte) 0xA0, 0x01, 0x02});
+        appendBytes(indexFile, ByteBuffer.allocate(Long.BYTES).putLong(dataSize + 100).array());
+        appendBytes(indexFile, new byte[] {0, 0, 1});
+
+        try (BattleLog log = BattleLog.open(file)) {
+            assertEquals(5, log.size());
+            assertEquals(dataSize, Files.size(file));
+            append(log, 5);
+            assertBattle(4, log.read(4));
+            assertBattle(5, log.read(5));
+        }
+        try (FileChannel index = FileChannel.open(indexFile)) {
+            assertEquals(6 * Long.BYTES, index.size());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.combat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.map.GameMap;
+import org.example.map.MapConfig;
+import org.example.map.Territory;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class CombatManagerTest {
+    private static UnitCounts army(int soldiers, int knights) {
+        UnitCounts army = new UnitCounts();
+        army.set(UnitType.HUMAN_SOLDIER, soldiers);
+        army.set(UnitType.HUMAN_KNIGHT, knights);
+        return army;
+    }
+
+    private static void assertSameCounts(UnitCounts expected, UnitCounts actual) {
+        for (UnitType type : UnitType.values()) {
+            assertEquals(expected.get(type), actual.get(type));
+        }
+    }
+
+    @Test
+    void classicForecastIsExact() {
+        CombatManager combat = new CombatManager();
+        Territory target = new GameMap(DifficultyLevel.NORMAL).getTerritoryById(8);
+
+        BattleOdds odds = combat.estimateOdds(army(20, 5), Race.HUMAN, target, 1_000_000);
+        BattleAnalysis analysis = combat.analyze(army(20, 5), Race.HUMAN, target);
+        assertTrue(odds.isExact());
+        assertEquals(0, odds.getSamples());
+        assertEquals(analysis.getWinProbability(), odds.getWinProbability());
+        assertEquals(odds.getWinProbability(), odds.getLowerBound());
+        assertEquals(odds.getWinProbability(), odds.getUpperBound());
+        assertEquals(analysis.getExpectedPlayerLosses(), odds.getExpectedPlayerLosses());
+        assertEquals(analysis.getExpectedEnemyLosses(), odds.getExpectedEnemyLosses());
+
+        // An exact forecast answers any sample count from the cache
+        assertSame(odds, combat.estimateOdds(army(20, 5), Race.HUMAN, target, 5_000_000));
+    }
+
+    @Test
+    void tacticalForecastIsAConsistentInterval() {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setSeed(1234L);
+        Territory target = new GameMap(DifficultyLevel.NORMAL, config).getTerritoryById(8);
+        CombatManager first = new CombatManager();
+        CombatManager second = new CombatManager();
+        first.setMode(CombatMode.TACTICAL);
+        second.setMode(CombatMode.TACTICAL);
+
+        // A contested matchup: about even odds
+        BattleOdds odds = first.estimateOdds(army(3, 3), Race.HUMAN, target, 200_000);
+        BattleOdds other = second.estimateOdds(army(3, 3), Race.HUMAN, target, 200_000);
+        assertEquals(200_000, odds.getSamples());
+        assertFalse(odds.isExact());
+        assertTrue(odds.getLowerBound() <= odds.getWinProbability());
+        assertTrue(odds.getWinProbability() <= odds.getUpperBound());
+        assertTrue(odds.getUpperBound() - odds.getLowerBound() < 0.01);
+
+        // Independent runs agree to within twice the interval width
+        double slack = 2 * (odds.getUpperBound() - odds.getLowerBound());
+        assertTrue(Math.abs(odds.getWinProbability() - other.getWinProbability()) <= slack);
+        assertTrue(odds.getExpectedPlayerLosses() >= 0);
+        assertTrue(odds.getExpectedPlayerLosses() <= 6);
+    }
+
+    @Test
+    void forecastDoesNotTouchArmyOrGarrison() {
+        CombatManager combat = new CombatManager();
+        Territory target = new GameMap(DifficultyLevel.EASY).getTerritoryById(2);
+        UnitCounts garrison = target.getDefendingUnits();
+        UnitCounts army = army(7, 1);
+
+        combat.estimateOdds(army, Race.HUMAN, target, 10_000);
+        assertSameCounts(army(7, 1), army);
+        assertSameCounts(garrison, target.getDefendingUnits());
+    }
+
+    @Test
+    void atLeastOneSampleIsRequired() {
+        CombatManager combat = new CombatManager();
+        Territory target = new GameMap(DifficultyLevel.EASY).getTerritoryById(2);
+        assertThrows(IllegalArgumentException.class, () -> combat.estimateOdds(army(1, 0), Race.HUMAN, target, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.combat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.map.GameMap;
+import org.example.map.Territory;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class OutcomeCacheTest {
+    private static UnitCounts army(int soldiers) {
+        UnitCounts army = new UnitCounts();
+        army.set(UnitType.HUMAN_SOLDIER, soldiers);
+        return army;
+    }
+
+    private static OutcomeCache.Key key(CombatMode mode, Race race, int soldiers) {
+        return OutcomeCache.key(mode, race, army(soldiers), army(3), 10);
+    }
+
+    private static BattleOdds odds(int samples) {
+        return new BattleOdds(samples, 0.5, 0.4, 0.6, 1, 1);
+    }
+
+    @Test
+    void keysCompareByMatchup() {
+        assertEquals(key(CombatMode.CLASSIC, Race.HUMAN, 5), key(CombatMode.CLASSIC, Race.HUMAN, 5));
+        assertEquals(key(CombatMode.CLASSIC, Race.HUMAN, 5).hashCode(),
+                key(CombatMode.CLASSIC, Race.HUMAN, 5).hashCode());
+        assertNotEquals(key(CombatMode.CLASSIC, Race.HUMAN, 5), key(CombatMode.TACTICAL, Race.HUMAN, 5));
+        assertNotEquals(key(CombatMode.CLASSIC, Race.HUMAN, 5), key(CombatMode.CLASSIC, Race.ORC, 5));
+        assertNotEquals(key(CombatMode.CLASSIC, Race.HUMAN, 5), key(CombatMode.CLASSIC, Race.HUMAN, 6));
+    }
+
+    @Test
+    void smallerForecastsAreMisses() {
+        OutcomeCache cache = new OutcomeCache(64);
+        OutcomeCache.Key key = key(CombatMode.CLASSIC, Race.HUMAN, 5);
+        assertNull(cache.get(key, 100));
+
+        BattleOdds stored = odds(1_000);
+        cache.put(key, stored);
+        assertSame(stored, cache.get(key, 1_000));
+        assertSame(stored, cache.get(key, 10));
+        assertNull(cache.get(key, 5_000));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void capacityIsBounded() {
+        OutcomeCache cache = new OutcomeCache(16);
+        for (int soldiers = 1; soldiers <= 200; soldiers++) {
+            cache.put(key(CombatMode.CLASSIC, Race.HUMAN, soldiers), odds(1));
+        }
+        assertTrue(cache.size() <= 16);
+        assertEquals(200 - cache.size(), cache.getEvictions());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new OutcomeCache(8));
+    }
+
+    @Test
+    void repeatedForecastIsServedFromTheCache() {
+        CombatManager combat = new CombatManager();
+        Territory target = new GameMap(DifficultyLevel.NORMAL).getTerritoryById(5);
+
+        BattleOdds first = combat.estimateOdds(army(12), Race.HUMAN, target, 10_000);
+        assertSame(first, combat.estimateOdds(army(12), Race.HUMAN, target, 10_000));
+        assertEquals(1, combat.getOutcomeCache().getHits());
+
+        // Changing the garrison changes the matchup
+        UnitCounts garrison = target.getDefendingUnits();
+        garrison.add(UnitType.ORC_GRUNT, 1);
+        target.setDefendingUnits(garrison);
+        assertNotSame(first, combat.estimateOdds(army(12), Race.HUMAN, target, 10_000));
+    }
+}
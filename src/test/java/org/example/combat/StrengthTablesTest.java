@@ -0,0 +1,43 @@
+package org.example.combat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class StrengthTablesTest {
+    @Test
+    void tablesMatchThePerUnitFormulas() {
+        UnitCounts army = new UnitCounts();
+        for (UnitType type : UnitType.values()) {
+            army.set(type, 3 + type.ordinal());
+        }
+
+        for (Race race : Race.values()) {
+            // Truncating per unit type can only lose up to one point per type
+            int perType = 0;
+            for (UnitType type : UnitType.values()) {
+                int strength = (type.getAttackPower() + type.getMagicPower()) * army.get(type);
+                perType += (int)(strength * (type.getAttackPower() > type.getMagicPower() ?
+                        race.getStrengthMultiplier() : race.getMagicMultiplier()));
+            }
+            int fromTable = StrengthTables.attackStrength(army, race);
+            assertTrue(fromTable >= perType && fromTable - perType <= UnitType.values().length);
+        }
+    }
+
+    @Test
+    void noRaceRowIsUnscaled() {
+        UnitCounts garrison = new UnitCounts();
+        garrison.set(UnitType.ORC_GRUNT, 4);
+        garrison.set(UnitType.ELF_MAGE, 2);
+
+        int attack = 4 * (UnitType.ORC_GRUNT.getAttackPower() + UnitType.ORC_GRUNT.getMagicPower()) +
+                2 * (UnitType.ELF_MAGE.getAttackPower() + UnitType.ELF_MAGE.getMagicPower());
+        int defense = 20 + 4 * UnitType.ORC_GRUNT.getDefense() + 2 * UnitType.ELF_MAGE.getDefense();
+        assertEquals(attack, StrengthTables.attackStrength(garrison, null));
+        assertEquals(defense, StrengthTables.defenseStrength(garrison, null, 20));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.combat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Battles per second of the tactical engine for armies of 10 to 100k units.
+// The armies are evenly matched so most battles run for many rounds; the cost
+// should stay flat because the engine works per unit type, not per unit.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Thread)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TacticalCombatEngineBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int armySize;
+
+    private final TacticalCombatEngine engine = new TacticalCombatEngine();
+    private final UnitCounts attackerSurvivors = new UnitCounts();
+    private final UnitCounts defenderSurvivors = new UnitCounts();
+    private UnitCounts attackers;
+    private UnitCounts defenders;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        // Same unit count on both sides, split over three types
+        attackers = new UnitCounts();
+        attackers.set(UnitType.HUMAN_SOLDIER, armySize / 2);
+        attackers.set(UnitType.HUMAN_ARCHER, armySize / 3);
+        attackers.set(UnitType.HUMAN_KNIGHT, armySize - armySize / 2 - armySize / 3);
+        defenders = new UnitCounts();
+        defenders.set(UnitType.ORC_GRUNT, armySize / 2);
+        defenders.set(UnitType.ORC_RAIDER, armySize / 3);
+        defenders.set(UnitType.ORC_SHAMAN, armySize - armySize / 2 - armySize / 3);
+        random = new SplittableRandom(1L);
+    }
+
+    @Benchmark
+    public boolean battle() {
+        return engine.fight(attackers, Race.HUMAN, defenders, Race.ORC, 20, random,
+                attackerSurvivors, defenderSurvivors);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(TacticalCombatEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.combat;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Arithmetic of one battle - strengths, totals, survivors, garrison losses and
+// returning the survivors - on UnitCounts against the previous
+// Map<UnitType, Integer> code, copied here as the baseline.
+// Run with the GC profiler: gc.alloc.rate.norm is the allocation per battle.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Thread)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UnitCountsBenchmark {
+    private static final Race RACE = Race.HUMAN;
+    private static final double LOSS_FACTOR = 0.45;
+
+    private UnitCounts army;
+    private UnitCounts garrison;
+    private UnitCounts playerUnits;
+    private Map<UnitType, Integer> armyMap;
+    private Map<UnitType, Integer> garrisonMap;
+    private Map<UnitType, Integer> playerUnitsMap;
+
+    @Setup
+    public void setUp() {
+        army = new UnitCounts();
+        army.set(UnitType.HUMAN_SOLDIER, 40);
+        army.set(UnitType.HUMAN_ARCHER, 25);
+        army.set(UnitType.HUMAN_KNIGHT, 10);
+        garrison = new UnitCounts();
+        garrison.set(UnitType.ORC_GRUNT, 30);
+        garrison.set(UnitType.ORC_RAIDER, 12);
+        garrison.set(UnitType.ORC_SHAMAN, 6);
+        playerUnits = new UnitCounts();
+
+        armyMap = new HashMap<>();
+        garrisonMap = new HashMap<>();
+        for (UnitType type : UnitType.values()) {
+            if (army.get(type) > 0) {
+                armyMap.put(type, army.get(type));
+            }
+            if (garrison.get(type) > 0) {
+                garrisonMap.put(type, garrison.get(type));
+            }
+        }
+        playerUnitsMap = new HashMap<>();
+    }
+
+    @Benchmark
+    public int unitCounts() {
+        int attack = 0;
+        int defense = 15;
+        for (int i = 0; i < UnitCounts.TYPE_COUNT; i++) {
+            UnitType type = UnitCounts.TYPES[i];
+            int strength = (type.getAttackPower() + type.getMagicPower()) * army.getAt(i);
+            attack += (int)(strength * (type.getAttackPower() > type.getMagicPower() ?
+                    RACE.getStrengthMultiplier() : RACE.getMagicMultiplier()));
+            defense += type.getDefense() * garrison.getAt(i);
+        }
+
+        // Survivors, garrison losses scaled in place, survivors returned
+        UnitCounts survivors = new UnitCounts(army);
+        survivors.applyLosses(LOSS_FACTOR);
+        UnitCounts defenders = new UnitCounts(garrison);
+        defenders.applyLosses(0.3);
+        playerUnits.clear();
+        playerUnits.add(survivors);
+        return attack + defense + army.total() + defenders.total() + playerUnits.total();
+    }
+
+    @Benchmark
+    public int boxedMaps() {
+        int attack = 0;
+        for (Map.Entry<UnitType, Integer> entry : armyMap.entrySet()) {
+            UnitType type = entry.getKey();
+            int strength = (type.getAttackPower() + type.getMagicPower()) * entry.getValue();
+            attack += (int)(strength * (type.getAttackPower() > type.getMagicPower() ?
+                    RACE.getStrengthMultiplier() : RACE.getMagicMultiplier()));
+        }
+        int defense = 15;
+        for (Map.Entry<UnitType, Integer> entry : garrisonMap.entrySet()) {
+            defense += entry.getKey().getDefense() * entry.getValue();
+        }
+
+        // Survivors into a new map
+        Map<UnitType, Integer> survivors = new HashMap<>();
+        for (Map.Entry<UnitType, Integer> entry : armyMap.entrySet()) {
+            int survived = entry.getValue() - (int)(entry.getValue() * LOSS_FACTOR);
+            if (survived > 0) {
+                survivors.put(entry.getKey(), survived);
+            }
+        }
+
+        // Garrison losses applied to a copy, as the old getDefendingUnits returned one
+        Map<UnitType, Integer> defenders = new HashMap<>(garrisonMap);
+        for (Map.Entry<UnitType, Integer> entry : new HashMap<>(defenders).entrySet()) {
+            int survived = entry.getValue() - (int)(entry.getValue() * 0.3);
+            if (survived <= 0) {
+                defenders.remove(entry.getKey());
+            } else {
+                defenders.put(entry.getKey(), survived);
+            }
+        }
+
+        playerUnitsMap.clear();
+        for (Map.Entry<UnitType, Integer> entry : survivors.entrySet()) {
+            playerUnitsMap.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        return attack + defense + total(armyMap) + total(defenders) + total(playerUnitsMap);
+    }
+
+    private static int total(Map<UnitType, Integer> units) {
+        int total = 0;
+        for (int count : units.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(UnitCountsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
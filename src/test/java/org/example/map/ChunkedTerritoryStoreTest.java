@@ -0,0 +1,57 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.model.DifficultyLevel;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class ChunkedTerritoryStoreTest {
+    private static MapConfig config(boolean chunked) {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setSize(70, 45);
+        config.setSeed(1234L);
+        config.setChunked(chunked);
+        return config;
+    }
+
+    private static void assertSameTile(Territory expected, Territory actual) {
+        assertEquals(expected.getDefenseStrength(), actual.getDefenseStrength());
+        assertEquals(expected.getStoredResources().getStone(), actual.getStoredResources().getStone());
+        assertEquals(expected.getStoredResources().getWood(), actual.getStoredResources().getWood());
+        assertEquals(expected.getStoredResources().getGold(), actual.getStoredResources().getGold());
+        for (UnitType type : UnitType.values()) {
+            assertEquals(expected.getDefendingUnitCount(type), actual.getDefendingUnitCount(type));
+        }
+    }
+
+    @Test
+    void chunksAreAllocatedOnFirstWrite() {
+        ChunkedTerritoryStore store = new ChunkedTerritoryStore(100, 100);
+        assertEquals(0, store.getDefenseStrength(5050));
+        assertFalse(store.isGenerated(5050));
+        assertEquals(0, store.getAllocatedChunks());
+
+        store.setDefenseStrength(5050, 9);
+        store.markGenerated(5050);
+        assertEquals(9, store.getDefenseStrength(5050));
+        assertTrue(store.isGenerated(5050));
+        assertEquals(1, store.getAllocatedChunks());
+    }
+
+    @Test
+    void oversizedStoreIsRejected() {
+        assertThrows(ArithmeticException.class, () -> new ChunkedTerritoryStore(100_000, 100_000));
+    }
+
+    @Test
+    void tilesDoNotDependOnAccessOrderOrLayout() {
+        GameMap dense = new GameMap(DifficultyLevel.NORMAL, config(false));
+        GameMap chunked = new GameMap(DifficultyLevel.NORMAL, config(true));
+
+        // Walk the chunked map backwards so tiles are generated in reverse order
+        for (int id = chunked.getTotalTerritories(); id >= 1; id--) {
+            assertSameTile(dense.getTerritoryById(id), chunked.getTerritoryById(id));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsrTopologyTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void compiledGridMatchesItsSource() {
+        for (MapTopology source : new MapTopology[] {
+                new SquareTopology(7, 5, false), new SquareTopology(7, 5, true), new HexTopology(6, 4)}) {
+            CsrTopology csr = CsrTopology.compile(source);
+            assertEquals(source.size(), csr.size());
+            for (int i = 0; i < source.size(); i++) {
+                assertEquals(source.degree(i), csr.degree(i));
+                for (int k = 0; k < source.degree(i); k++) {
+                    assertEquals(source.neighbour(i, k), csr.neighbour(i, k));
+                    assertTrue(csr.isAdjacent(i, source.neighbour(i, k)));
+                }
+                assertEquals(source.distance(0, i), csr.distance(0, i));
+            }
+        }
+    }
+
+    @Test
+    void edgesAreSortedAndDeduplicated() {
+        // 0-2 twice, 1-0 in both directions, and a self loop on 3
+        CsrTopology graph = CsrTopology.fromEdges(4, new int[] {0, 2, 1, 0, 3}, new int[] {2, 0, 0, 1, 3});
+        assertEquals(2, graph.degree(0));
+        assertEquals(1, graph.neighbour(0, 0));
+        assertEquals(2, graph.neighbour(0, 1));
+        assertEquals(0, graph.degree(3));
+        assertEquals(2, graph.distance(1, 2));
+        assertEquals(-1, graph.distance(1, 3));
+    }
+
+    @Test
+    void loadsEdgeListFiles() throws IOException {
+        Path file = directory.resolve("ring.graph");
+        Files.writeString(file, "# ring of four\nnodes 4\n1 2\n2 3\n\n3 4\n4 1\n");
+        CsrTopology ring = CsrTopology.load(file);
+        assertEquals(4, ring.size());
+        assertEquals(2, ring.distance(0, 2));
+        assertTrue(ring.isAdjacent(3, 0));
+
+        Path broken = directory.resolve("broken.graph");
+        Files.writeString(broken, "nodes 3\n1 5\n");
+        assertThrows(IOException.class, () -> CsrTopology.load(broken));
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class DistanceFieldsTest {
+    private static GameMap map(MapTopology topology) {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setTopology(topology);
+        config.setSeed(3L);
+        return new GameMap(DifficultyLevel.NORMAL, config);
+    }
+
+    // Random captures and losses with consistency checks on: every distance
+    // query compares the repaired fields with a full recomputation
+    private static void playRandomly(GameMap map, long seed) {
+        map.setConsistencyChecks(true);
+        Player human = new Player(Race.HUMAN, DifficultyLevel.NORMAL);
+        Player elf = new Player(Race.ELF, DifficultyLevel.NORMAL);
+        SplittableRandom random = new SplittableRandom(seed);
+        int size = map.getTotalTerritories();
+
+        map.captureTerritory(1, human);
+        map.captureTerritory(size, elf);
+        assertEquals(0, map.getDistanceToPlayer(1, human));
+        assertEquals(0, map.getDistanceToPlayer(size, elf));
+
+        for (int step = 0; step < 400; step++) {
+            int id = 1 + random.nextInt(size);
+            switch (random.nextInt(3)) {
+                case 0 -> map.captureTerritory(id, human);
+                case 1 -> map.captureTerritory(id, elf);
+                default -> map.loseTerritory(id);
+            }
+            int probe = 1 + random.nextInt(size);
+            int distance = map.getDistanceToPlayer(probe, human);
+            assertEquals(map.getTerritoryById(probe).getOwner() == human, distance == 0);
+            map.getDistanceToPlayer(probe, elf);
+        }
+    }
+
+    @Test
+    void squareFieldsStayExact() {
+        playRandomly(map(new SquareTopology(17, 13, false)), 1);
+        playRandomly(map(new SquareTopology(9, 9, true)), 2);
+    }
+
+    @Test
+    void hexFieldsStayExact() {
+        playRandomly(map(new HexTopology(12, 10)), 3);
+    }
+
+    @Test
+    void graphFieldsStayExact() {
+        // Two rings joined by one bridge, plus an isolated node
+        int[] from = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 0};
+        int[] to = {1, 2, 3, 4, 0, 6, 7, 8, 9, 5, 5};
+        GameMap map = map(CsrTopology.fromEdges(11, from, to));
+        playRandomly(map, 4);
+    }
+
+    @Test
+    void unreachableTerritoriesReportMinusOne() {
+        GameMap map = map(CsrTopology.fromEdges(3, new int[] {0}, new int[] {1}));
+        Player player = new Player(Race.ORC, DifficultyLevel.NORMAL);
+        map.captureTerritory(1, player);
+        assertEquals(1, map.getDistanceToPlayer(2, player));
+        assertEquals(-1, map.getDistanceToPlayer(3, player));
+    }
+
+    @Test
+    void verifyDetectsMissedChanges() {
+        GameMap map = map(new SquareTopology(6, 6, false));
+        OwnershipCounters counters = new OwnershipCounters(new DenseTerritoryStore(36));
+        DistanceFields fields = new DistanceFields(map, counters);
+        Player player = new Player(Race.ELF, DifficultyLevel.NORMAL);
+
+        counters.ownerChanged(0, null, player);
+        assertEquals(10, fields.distance(35, player));
+        fields.verify();
+
+        // The fields are not registered, so they never see this change
+        counters.ownerChanged(35, null, player);
+        assertThrows(IllegalStateException.class, fields::verify);
+    }
+}
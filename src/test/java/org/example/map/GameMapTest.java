@@ -0,0 +1,62 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class GameMapTest {
+    // Recount a player's frontier by scanning every territory
+    private static int bruteFrontier(GameMap map, Player player) {
+        int count = 0;
+        for (int id = 1; id <= map.getTotalTerritories(); id++) {
+            Territory territory = map.getTerritoryById(id);
+            if (territory.getOwner() != null) {
+                continue;
+            }
+            for (int k = 0; k < territory.getAdjacentCount(); k++) {
+                if (map.getTerritoryById(territory.getAdjacentId(k)).getOwner() == player) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void frontierFollowsOwnershipChanges() {
+        GameMap map = new GameMap(DifficultyLevel.HARD);
+        Player human = new Player(Race.HUMAN, DifficultyLevel.HARD);
+        Player orc = new Player(Race.ORC, DifficultyLevel.HARD);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int step = 0; step < 500; step++) {
+            int id = 1 + random.nextInt(map.getTotalTerritories());
+            switch (random.nextInt(3)) {
+                case 0 -> map.captureTerritory(id, human);
+                case 1 -> map.captureTerritory(id, orc);
+                default -> map.loseTerritory(id);
+            }
+            assertEquals(bruteFrontier(map, human), map.getAdjacentEnemyTerritoryCount(human));
+            assertEquals(bruteFrontier(map, orc), map.getAdjacentEnemyTerritoryCount(orc));
+        }
+    }
+
+    @Test
+    void randomFrontierTerritoryIsAttackable() {
+        GameMap map = new GameMap(DifficultyLevel.NORMAL);
+        Player player = new Player(Race.ELF, DifficultyLevel.NORMAL);
+        assertNull(map.getRandomAdjacentEnemyTerritory(player));
+
+        map.placePlayerStart(player);
+        for (int i = 0; i < 20; i++) {
+            Territory target = map.getRandomAdjacentEnemyTerritory(player);
+            assertNull(target.getOwner());
+            assertTrue(target.isAdjacentTo(1));
+        }
+    }
+}
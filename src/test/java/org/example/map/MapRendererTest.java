@@ -0,0 +1,104 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class MapRendererTest {
+    private static final Pattern BLOCK = Pattern.compile("\\[([Pp.])\\]");
+
+    private static String render(GameMap map, Player player) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream previous = System.out;
+        System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        try {
+            map.displayMap(player);
+        } finally {
+            System.setOut(previous);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    // Glyphs for every block, computed by scanning the tiles
+    private static String bruteBlocks(GameMap map, int width, int height, int zoom) {
+        StringBuilder glyphs = new StringBuilder();
+        for (int y0 = 0; y0 < height; y0 += zoom) {
+            for (int x0 = 0; x0 < width; x0 += zoom) {
+                int owned = 0;
+                int total = 0;
+                for (int y = y0; y < Math.min(height, y0 + zoom); y++) {
+                    for (int x = x0; x < Math.min(width, x0 + zoom); x++) {
+                        total++;
+                        if (map.getTerritoryById(y * width + x + 1).getOwner() != null) {
+                            owned++;
+                        }
+                    }
+                }
+                glyphs.append(owned == 0 ? '.' : owned == total ? 'P' : 'p');
+            }
+        }
+        return glyphs.toString();
+    }
+
+    private static String renderedBlocks(String frame) {
+        StringBuilder glyphs = new StringBuilder();
+        for (String line : frame.split("\n")) {
+            if (line.startsWith("Legend")) {
+                continue;
+            }
+            Matcher matcher = BLOCK.matcher(line);
+            while (matcher.find()) {
+                glyphs.append(matcher.group(1));
+            }
+        }
+        return glyphs.toString();
+    }
+
+    @Test
+    void zoomedBlocksFollowOwnershipChanges() {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setSize(23, 17);
+        config.setSeed(5L);
+        GameMap map = new GameMap(DifficultyLevel.NORMAL, config);
+        Player player = new Player(Race.ORC, DifficultyLevel.NORMAL);
+        map.placePlayerStart(player);
+        map.setViewport(50, 50);
+
+        // Ownership set before zooming is counted when the blocks are built
+        map.captureTerritory(30, player);
+        map.setZoom(4);
+
+        SplittableRandom random = new SplittableRandom(11);
+        for (int step = 0; step < 300; step++) {
+            int id = 1 + random.nextInt(map.getTotalTerritories());
+            if (random.nextBoolean()) {
+                map.captureTerritory(id, player);
+            } else {
+                map.loseTerritory(id);
+            }
+            if (step % 25 == 0) {
+                assertEquals(bruteBlocks(map, 23, 17, 4), renderedBlocks(render(map, player)));
+            }
+        }
+    }
+
+    @Test
+    void smallMapsRenderEveryTile() {
+        GameMap map = new GameMap(DifficultyLevel.EASY);
+        Player player = new Player(Race.HUMAN, DifficultyLevel.EASY);
+        map.placePlayerStart(player);
+
+        String frame = render(map, player);
+        assertTrue(frame.contains(" A [P] [2] [3] [4] [5] "));
+        assertTrue(frame.contains(" E [21] [22] [23] [24] [25] "));
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.map;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.model.DifficultyLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Open cost and random-access latency of a memory-mapped world file against
+// the heap store. openAndSample maps an existing world and reads a few
+// scattered tiles, which is what reopening a save costs; the file is in the
+// page cache after the first iteration, so this measures mapping and minor
+// faults rather than disk reads.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MappedTerritoryStoreBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final int SAMPLES = 64;
+
+    @Param({"1000"})
+    public int side;
+
+    private Path directory;
+    private Path worldFile;
+    private MappedTerritoryStore mapped;
+    private TerritoryStore heap;
+    private int[] indices;
+
+    @Setup
+    public void setUp() throws IOException {
+        int size = side * side;
+        TerritoryGenerator generator = new TerritoryGenerator(42L, DifficultyLevel.NORMAL);
+        directory = Files.createTempDirectory("world-bench");
+        worldFile = directory.resolve("world.bin");
+
+        mapped = MappedTerritoryStore.create(worldFile, size, side, side, 42L);
+        heap = new DenseTerritoryStore(size);
+        for (int index = 0; index < size; index++) {
+            int x = index % side;
+            int y = index / side;
+            generator.generate(mapped, index, x, y, x + y);
+            generator.generate(heap, index, x, y, x + y);
+        }
+        mapped.flush();
+
+        SplittableRandom random = new SplittableRandom(7);
+        indices = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            indices[i] = random.nextInt(size);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mapped.close();
+        Files.deleteIfExists(worldFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public int openAndSample() throws IOException {
+        int total = 0;
+        try (MappedTerritoryStore store = MappedTerritoryStore.open(worldFile)) {
+            for (int i = 0; i < SAMPLES; i++) {
+                total += store.getTotalDefenders(indices[i]);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void randomReadMapped(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(mapped.getTotalDefenders(index) + mapped.getDefenseStrength(index));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void randomReadHeap(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(heap.getTotalDefenders(index) + heap.getDefenseStrength(index));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(MappedTerritoryStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
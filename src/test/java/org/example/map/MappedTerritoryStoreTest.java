@@ -0,0 +1,72 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedTerritoryStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsSurviveReopen() throws IOException {
+        Path file = directory.resolve("world.bin");
+        try (MappedTerritoryStore store = MappedTerritoryStore.create(file, 12, 4, 3, 77L)) {
+            store.setStoredResources(11, 1, 2, 3);
+            store.setDefenseStrength(11, 40);
+            store.setDefenderCount(11, UnitType.ORC_SHAMAN, 6);
+            store.markGenerated(11);
+        }
+
+        try (MappedTerritoryStore store = MappedTerritoryStore.open(file)) {
+            assertEquals(12, store.getCapacity());
+            assertEquals(4, store.getWidth());
+            assertEquals(3, store.getHeight());
+            assertEquals(77L, store.getSeed());
+            assertTrue(store.isGenerated(11));
+            assertFalse(store.isGenerated(10));
+            assertEquals(3, store.getStoredGold(11));
+            assertEquals(40, store.getDefenseStrength(11));
+            assertEquals(6, store.getDefenderCount(11, UnitType.ORC_SHAMAN));
+        }
+    }
+
+    @Test
+    void foreignFilesAreRejected() throws IOException {
+        Path file = directory.resolve("notes.txt");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> MappedTerritoryStore.open(file));
+    }
+
+    @Test
+    void reopenedMapRestoresOwnersAndIndexes() {
+        MapConfig config = new MapConfig(DifficultyLevel.EASY);
+        config.setWorldFile(directory.resolve("game.world"));
+        Player player = new Player(Race.HUMAN, DifficultyLevel.EASY);
+
+        GameMap map = new GameMap(DifficultyLevel.EASY, config);
+        map.placePlayerStart(player);
+        map.captureTerritory(2, player);
+        int defense = map.getTerritoryById(7).getDefenseStrength();
+        map.save();
+        map.close();
+
+        GameMap reopened = new GameMap(DifficultyLevel.EASY, config);
+        assertNull(reopened.getTerritoryById(2).getOwner());
+        reopened.restoreOwners(List.of(player));
+        assertEquals(2, reopened.getPlayerTerritoryCount(player));
+        assertSame(player, reopened.getTerritoryById(2).getOwner());
+        assertEquals(3, reopened.getAdjacentEnemyTerritoryCount(player));
+        assertEquals(defense, reopened.getTerritoryById(7).getDefenseStrength());
+        reopened.close();
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class OwnershipCountersTest {
+    @Test
+    void countersFollowTheStore() {
+        TerritoryStore store = new DenseTerritoryStore(10);
+        OwnershipCounters counters = new OwnershipCounters(store);
+        store.addOwnershipListener(counters);
+        Player player = new Player(Race.HUMAN, DifficultyLevel.EASY);
+
+        store.setOwner(2, player);
+        store.setOwner(5, player);
+        store.setOwner(2, null);
+        assertEquals(1, counters.count(player));
+        assertEquals(5, counters.anyIndex(player));
+        counters.verify();
+    }
+
+    @Test
+    void verifyDetectsMissedChanges() {
+        TerritoryStore store = new DenseTerritoryStore(10);
+        OwnershipCounters counters = new OwnershipCounters(store);
+        Player player = new Player(Race.ORC, DifficultyLevel.EASY);
+
+        // The counters are not registered, so this change is never seen
+        store.setOwner(4, player);
+        assertThrows(IllegalStateException.class, counters::verify);
+    }
+
+    @Test
+    void verifyDetectsPhantomOwnership() {
+        TerritoryStore store = new DenseTerritoryStore(10);
+        OwnershipCounters counters = new OwnershipCounters(store);
+        Player player = new Player(Race.ELF, DifficultyLevel.EASY);
+
+        counters.ownerChanged(3, null, player);
+        assertThrows(IllegalStateException.class, counters::verify);
+    }
+
+    @Test
+    void consistencyChecksPassOnAPlayedMap() {
+        GameMap map = new GameMap(DifficultyLevel.NORMAL);
+        map.setConsistencyChecks(true);
+        Player player = new Player(Race.HUMAN, DifficultyLevel.NORMAL);
+
+        map.placePlayerStart(player);
+        for (int id = 2; id <= map.getTotalTerritories(); id++) {
+            map.captureTerritory(id, player);
+            assertEquals(id, map.getPlayerTerritoryCount(player));
+        }
+        assertTrue(map.isMapConquered(player));
+
+        map.loseTerritory(1);
+        assertFalse(map.isMapConquered(player));
+        assertNotNull(map.getFirstPlayerTerritory(player));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.map;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.example.model.DifficultyLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Time to generate a whole eager map against the number of pool workers.
+// Sides are the EASY/NORMAL/HARD maps scaled 100x; workers = 0 is the old
+// sequential per-tile loop.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class ParallelWorldGeneratorBenchmark {
+    @Param({"500", "600", "700"})
+    public int side;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int workers;
+
+    private TerritoryGenerator generator;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        generator = new TerritoryGenerator(42L, DifficultyLevel.NORMAL);
+        if (workers > 0) {
+            pool = new ForkJoinPool(workers);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public TerritoryStore generate() {
+        TerritoryStore store = new DenseTerritoryStore(side * side);
+        if (pool == null) {
+            for (int index = 0; index < side * side; index++) {
+                int x = index % side;
+                int y = index / side;
+                generator.generate(store, index, x, y, x + y);
+            }
+        } else {
+            new ParallelWorldGenerator(generator, side, side, index -> index % side + index / side)
+                    .generate(store, pool);
+        }
+        return store;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ParallelWorldGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.example.model.DifficultyLevel;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class ParallelWorldGeneratorTest {
+    private static final int WIDTH = 90;
+    private static final int HEIGHT = 70;
+    private static final long SEED = 99L;
+
+    private static TerritoryStore generate(int threads) {
+        TerritoryGenerator generator = new TerritoryGenerator(SEED, DifficultyLevel.HARD);
+        TerritoryStore store = new DenseTerritoryStore(WIDTH * HEIGHT);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            new ParallelWorldGenerator(generator, WIDTH, HEIGHT, index -> index % WIDTH + index / WIDTH)
+                    .generate(store, pool);
+        } finally {
+            pool.shutdown();
+        }
+        return store;
+    }
+
+    private static void assertSameStore(TerritoryStore expected, TerritoryStore actual) {
+        for (int index = 0; index < WIDTH * HEIGHT; index++) {
+            assertTrue(actual.isGenerated(index));
+            assertEquals(expected.getDefenseStrength(index), actual.getDefenseStrength(index));
+            assertEquals(expected.getStoredStone(index), actual.getStoredStone(index));
+            assertEquals(expected.getStoredWood(index), actual.getStoredWood(index));
+            assertEquals(expected.getStoredGold(index), actual.getStoredGold(index));
+            for (UnitType type : UnitType.values()) {
+                assertEquals(expected.getDefenderCount(index, type), actual.getDefenderCount(index, type));
+            }
+        }
+    }
+
+    @Test
+    void worldDoesNotDependOnPoolSize() {
+        TerritoryStore single = generate(1);
+        assertSameStore(single, generate(2));
+        assertSameStore(single, generate(4));
+    }
+
+    @Test
+    void parallelWorldMatchesPerTileGeneration() {
+        TerritoryGenerator generator = new TerritoryGenerator(SEED, DifficultyLevel.HARD);
+        TerritoryStore expected = new DenseTerritoryStore(WIDTH * HEIGHT);
+        for (int index = 0; index < WIDTH * HEIGHT; index++) {
+            int x = index % WIDTH;
+            int y = index / WIDTH;
+            generator.generate(expected, index, x, y, x + y);
+        }
+        assertSameStore(expected, generate(3));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class RegionIndexTest {
+    private static GameMap map(MapTopology topology) {
+        MapConfig config = new MapConfig(DifficultyLevel.HARD);
+        config.setTopology(topology);
+        config.setSeed(8L);
+        return new GameMap(DifficultyLevel.HARD, config);
+    }
+
+    // Random ownership and garrison changes, with every query compared to a full scan
+    private static void checkAgainstScan(GameMap map, long seed) {
+        MapTopology topology = map.getTopology();
+        int width = topology.getWidth();
+        int size = topology.size();
+        Player player = new Player(Race.HUMAN, DifficultyLevel.HARD);
+        RegionIndex index = map.getRegionIndex();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int step = 0; step < 300; step++) {
+            int id = 1 + random.nextInt(size);
+            switch (random.nextInt(3)) {
+                case 0 -> map.captureTerritory(id, player);
+                case 1 -> map.loseTerritory(id);
+                default -> map.getTerritoryById(id).setDefendingUnitCount(UnitType.ORC_GRUNT, random.nextInt(60));
+            }
+
+            if (topology.hasCoordinates()) {
+                int x0 = random.nextInt(width);
+                int y0 = random.nextInt(topology.getHeight());
+                int x1 = x0 + random.nextInt(width - x0);
+                int y1 = y0 + random.nextInt(topology.getHeight() - y0);
+                long defenders = 0;
+                int owned = 0;
+                for (int y = y0; y <= y1; y++) {
+                    for (int x = x0; x <= x1; x++) {
+                        Territory territory = map.getTerritoryById(y * width + x + 1);
+                        defenders += territory.getTotalDefendingUnits();
+                        owned += territory.getOwner() == player ? 1 : 0;
+                    }
+                }
+                assertEquals(defenders, index.sumDefenders(x0, y0, x1, y1));
+                assertEquals(owned, index.countOwned(player, x0, y0, x1, y1));
+            }
+
+            int centre = random.nextInt(size);
+            int radius = random.nextInt(5);
+            int strongest = 0;
+            for (int i = 0; i < size; i++) {
+                int distance = topology.distance(centre, i);
+                if (distance >= 0 && distance <= radius) {
+                    strongest = Math.max(strongest, map.getTerritoryById(i + 1).getTotalDefendingUnits());
+                }
+            }
+            int found = index.strongestWithin(centre, radius);
+            if (strongest == 0) {
+                assertEquals(-1, found);
+            } else {
+                assertTrue(topology.distance(centre, found - 1) <= radius);
+                assertEquals(strongest, map.getTerritoryById(found).getTotalDefendingUnits());
+            }
+        }
+    }
+
+    @Test
+    void squareQueriesMatchScan() {
+        checkAgainstScan(map(new SquareTopology(37, 29, false)), 1);
+    }
+
+    @Test
+    void hexQueriesMatchScan() {
+        checkAgainstScan(map(new HexTopology(21, 18)), 2);
+    }
+
+    @Test
+    void graphRadiusQueryMatchesScan() {
+        int size = 40;
+        int[] from = new int[size];
+        int[] to = new int[size];
+        for (int i = 0; i < size; i++) {
+            from[i] = i;
+            to[i] = (i * 7 + 3) % size;
+        }
+        checkAgainstScan(map(CsrTopology.fromEdges(size, from, to)), 3);
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.map;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Memory and lookup cost of TerritoryStore against the previous layout: a
+// HashMap<Integer, Territory> where every tile holds an adjacency list, a
+// Resources object and a HashMap<UnitType, Integer> garrison.
+// The build benchmarks run with the GC profiler: gc.alloc.rate.norm is the
+// number of bytes a whole map costs.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TerritoryStoreBenchmark {
+    private static final UnitType[] UNIT_TYPES = UnitType.values();
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private TerritoryStore store;
+    private Map<Integer, LegacyTerritory> legacy;
+    private int[] ids;
+
+    // The removed per-tile object layout
+    static final class LegacyTerritory {
+        final int id;
+        Player owner;
+        int defenseStrength;
+        final List<Integer> adjacentTerritories = new ArrayList<>();
+        final LegacyResources storedResources;
+        final Map<UnitType, Integer> defendingUnits = new HashMap<>();
+
+        LegacyTerritory(int id, int stone, int wood, int gold) {
+            this.id = id;
+            this.storedResources = new LegacyResources(stone, wood, gold);
+        }
+    }
+
+    static final class LegacyResources {
+        int stone, wood, gold, maxStone, maxWood, maxGold;
+
+        LegacyResources(int stone, int wood, int gold) {
+            this.stone = stone;
+            this.wood = wood;
+            this.gold = gold;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        store = buildStore(size);
+        legacy = buildLegacy(size);
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    private static TerritoryStore buildStore(int size) {
+        TerritoryStore store = new DenseTerritoryStore(size);
+        for (int index = 0; index < size; index++) {
+            store.setStoredResources(index, 50, 50, 25);
+            store.setDefenseStrength(index, 15);
+            store.setDefenderCount(index, UNIT_TYPES[index % UNIT_TYPES.length], 7);
+        }
+        return store;
+    }
+
+    private static Map<Integer, LegacyTerritory> buildLegacy(int size) {
+        Map<Integer, LegacyTerritory> territories = new HashMap<>();
+        int side = (int) Math.sqrt(size);
+        for (int id = 1; id <= size; id++) {
+            LegacyTerritory territory = new LegacyTerritory(id, 50, 50, 25);
+            territory.defenseStrength = 15;
+            territory.defendingUnits.put(UNIT_TYPES[id % UNIT_TYPES.length], 7);
+            if (id > side) {
+                territory.adjacentTerritories.add(id - side);
+            }
+            if (id % side != 0) {
+                territory.adjacentTerritories.add(id + 1);
+            }
+            territories.put(id, territory);
+        }
+        return territories;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public TerritoryStore buildStore() {
+        return buildStore(size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public Map<Integer, LegacyTerritory> buildLegacy() {
+        return buildLegacy(size);
+    }
+
+    // Garrison size and owner of random territories
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void lookupStore(Blackhole blackhole) {
+        for (int id : ids) {
+            blackhole.consume(store.getTotalDefenders(id - 1));
+            blackhole.consume(store.getOwner(id - 1));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void lookupLegacy(Blackhole blackhole) {
+        for (int id : ids) {
+            LegacyTerritory territory = legacy.get(id);
+            int total = 0;
+            for (int count : territory.defendingUnits.values()) {
+                total += count;
+            }
+            blackhole.consume(total);
+            blackhole.consume(territory.owner);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(TerritoryStoreBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
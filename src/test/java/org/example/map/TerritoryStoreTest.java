@@ -0,0 +1,65 @@
+package org.example.map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class TerritoryStoreTest {
+    @Test
+    void columnsAreIndependentPerTerritory() {
+        TerritoryStore store = new DenseTerritoryStore(3);
+        store.setStoredResources(1, 10, 20, 30);
+        store.setDefenseStrength(1, 17);
+        store.setDefenderCount(1, UnitType.HUMAN_KNIGHT, 4);
+
+        assertEquals(10, store.getStoredStone(1));
+        assertEquals(20, store.getStoredWood(1));
+        assertEquals(30, store.getStoredGold(1));
+        assertEquals(17, store.getDefenseStrength(1));
+        assertEquals(4, store.getTotalDefenders(1));
+        assertEquals(0, store.getTotalDefenders(0));
+        assertEquals(0, store.getStoredStone(2));
+    }
+
+    @Test
+    void ownersAreRegisteredOnce() {
+        TerritoryStore store = new DenseTerritoryStore(4);
+        Player player = new Player(Race.HUMAN, DifficultyLevel.NORMAL);
+
+        store.setOwner(0, player);
+        store.setOwner(3, player);
+        assertSame(player, store.getOwner(0));
+        assertSame(player, store.getOwner(3));
+        assertNull(store.getOwner(1));
+
+        store.setOwner(0, null);
+        assertNull(store.getOwner(0));
+    }
+
+    @Test
+    void defenderCountsAreClampedAndCleared() {
+        TerritoryStore store = new DenseTerritoryStore(1);
+        store.setDefenderCount(0, UnitType.HUMAN_ARCHER, -5);
+        assertEquals(0, store.getDefenderCount(0, UnitType.HUMAN_ARCHER));
+
+        store.setDefenderCount(0, UnitType.HUMAN_ARCHER, 6);
+        store.setDefenderCount(0, UnitType.ELF_MAGE, 2);
+        store.clearDefenders(0);
+        assertEquals(0, store.getTotalDefenders(0));
+    }
+
+    @Test
+    void defendingUnitsIsACopy() {
+        TerritoryStore store = new DenseTerritoryStore(1);
+        store.setDefenderCount(0, UnitType.HUMAN_SOLDIER, 3);
+
+        UnitCounts units = store.getDefendingUnits(0);
+        units.set(UnitType.HUMAN_SOLDIER, 99);
+        assertEquals(3, store.getDefenderCount(0, UnitType.HUMAN_SOLDIER));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// One daily tick over every village: the column pass of EconomyEngine against
+// the previous per-player walk over a building map, copied here as the
+// baseline. Divide the time per tick by 'villages' for the cost per village.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Thread)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EconomyEngineBenchmark {
+    private static final DifficultyLevel DIFFICULTY = DifficultyLevel.NORMAL;
+    private static final BuildingType[] PRODUCERS =
+            {BuildingType.STONE_MINE, BuildingType.LUMBER_MILL, BuildingType.GOLD_MINE};
+
+    @Param({"1000", "100000"})
+    private int villages;
+
+    private EconomyEngine engine;
+    private Village[] baseline;
+
+    // A village as Player used to hold it
+    private static final class Village {
+        final Map<BuildingType, Integer> buildings = new EnumMap<>(BuildingType.class);
+        int stone, wood, gold;
+        int maxStone, maxWood, maxGold;
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        engine = new EconomyEngine(villages);
+        baseline = new Village[villages];
+        ResourceAmount start = Resources.getStartingAmount(DIFFICULTY);
+        ResourceAmount capacity = Resources.getStartingCapacity(DIFFICULTY);
+        for (int v = 0; v < villages; v++) {
+            int slot = engine.addVillage(DIFFICULTY);
+            Village village = new Village();
+            village.stone = start.getStone();
+            village.wood = start.getWood();
+            village.gold = start.getGold();
+            village.maxStone = capacity.getStone();
+            village.maxWood = capacity.getWood();
+            village.maxGold = capacity.getGold();
+            village.buildings.put(BuildingType.TOWN_HALL, 1);
+            engine.setLevel(slot, BuildingType.TOWN_HALL, 1);
+            for (BuildingType type : PRODUCERS) {
+                int level = random.nextInt(4);
+                if (level > 0) {
+                    village.buildings.put(type, level);
+                    engine.setLevel(slot, type, level);
+                }
+            }
+            baseline[v] = village;
+        }
+    }
+
+    @Benchmark
+    public void columns() {
+        engine.collectAll(false);
+    }
+
+    @Benchmark
+    public void parallelColumns() {
+        engine.collectAll(true);
+    }
+
+    @Benchmark
+    public void buildingMaps() {
+        for (Village village : baseline) {
+            int stone = 0;
+            int wood = 0;
+            int gold = 0;
+            for (Map.Entry<BuildingType, Integer> entry : village.buildings.entrySet()) {
+                ResourceAmount production = entry.getKey().getDailyProduction(entry.getValue(), DIFFICULTY);
+                stone += production.getStone();
+                wood += production.getWood();
+                gold += production.getGold();
+            }
+            village.stone = Math.min(village.stone + stone, village.maxStone);
+            village.wood = Math.min(village.wood + wood, village.maxWood);
+            village.gold = Math.min(village.gold + gold, village.maxGold);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(EconomyEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.player.Player;
+import org.junit.jupiter.api.Test;
+
+class EconomyEngineTest {
+    @Test
+    void productionFollowsLevelsAndDifficulty() {
+        EconomyEngine engine = new EconomyEngine(1);
+        int slot = engine.addVillage(DifficultyLevel.NORMAL, 0, 0, 0, 1_000, 1_000, 1_000);
+        assertSame(ResourceAmount.ZERO, engine.getDailyProduction(slot));
+
+        engine.setLevel(slot, BuildingType.STONE_MINE, 2);
+        engine.setLevel(slot, BuildingType.GOLD_MINE, 1);
+        ResourceAmount expected = BuildingType.STONE_MINE.getDailyProduction(2, DifficultyLevel.NORMAL)
+                .plus(BuildingType.GOLD_MINE.getDailyProduction(1, DifficultyLevel.NORMAL));
+        assertEquals(expected, engine.getDailyProduction(slot));
+        assertEquals(2, engine.countBuildings(slot));
+
+        engine.setDifficulty(slot, DifficultyLevel.HARD);
+        assertEquals(BuildingType.STONE_MINE.getDailyProduction(2, DifficultyLevel.HARD).getStone(),
+                engine.getDailyProduction(slot).getStone());
+    }
+
+    @Test
+    void collectionStopsAtTheStorageLimit() {
+        EconomyEngine engine = new EconomyEngine();
+        int slot = engine.addVillage(DifficultyLevel.NORMAL, 0, 0, 0, 120, 120, 120);
+        engine.setLevel(slot, BuildingType.STONE_MINE, 1);
+        int daily = engine.getDailyProduction(slot).getStone();
+
+        engine.collect(slot);
+        assertEquals(daily, engine.getResources(slot).getStone());
+        for (int day = 0; day < 10; day++) {
+            engine.collect(slot);
+        }
+        assertEquals(120, engine.getResources(slot).getStone());
+        assertEquals(0, engine.getResources(slot).getWood());
+    }
+
+    @Test
+    void parallelCollectionMatchesSequential() {
+        // More villages than one parallel chunk, so the columns grow and split
+        EconomyEngine sequential = new EconomyEngine(1);
+        EconomyEngine parallel = new EconomyEngine(1);
+        for (int v = 0; v < 40_000; v++) {
+            for (EconomyEngine engine : new EconomyEngine[] {sequential, parallel}) {
+                int slot = engine.addVillage(DifficultyLevel.EASY, v % 7, 0, v % 11, 500, 500, 500 + v % 300);
+                engine.setLevel(slot, BuildingType.values()[1 + v % 3], 1 + v % 4);
+            }
+        }
+
+        for (int day = 0; day < 5; day++) {
+            sequential.collectAll(false);
+            parallel.collectAll(true);
+        }
+        assertEquals(40_000, parallel.size());
+        for (int slot = 0; slot < sequential.size(); slot++) {
+            assertEquals(sequential.getResources(slot).getAmount(), parallel.getResources(slot).getAmount());
+        }
+    }
+
+    @Test
+    void playersShareAnEngine() {
+        EconomyEngine engine = new EconomyEngine();
+        Player first = new Player(Race.HUMAN, DifficultyLevel.NORMAL, engine);
+        Player second = new Player(Race.ORC, DifficultyLevel.NORMAL, engine);
+        assertEquals(2, engine.size());
+
+        first.getResources().add(ResourceAmount.of(7, 0, 0));
+        assertEquals(second.getResources().getStone() + 7, first.getResources().getStone());
+        assertEquals(1, first.getBuildings().get(BuildingType.TOWN_HALL));
+    }
+
+    @Test
+    void debitsAreAllOrNothing() {
+        EconomyEngine engine = new EconomyEngine();
+        int slot = engine.addVillage(DifficultyLevel.NORMAL, 100, 5, 100, 500, 500, 500);
+
+        assertFalse(engine.tryDebit(slot, ResourceAmount.of(50, 10, 50)));
+        assertEquals(ResourceAmount.of(100, 5, 100), engine.getResources(slot).getAmount());
+        assertTrue(engine.tryDebit(slot, ResourceAmount.of(50, 5, 50)));
+        assertEquals(ResourceAmount.of(50, 0, 50), engine.getResources(slot).getAmount());
+
+        // Raids take what there is
+        assertEquals(ResourceAmount.of(30, 0, 50), engine.takeUpTo(slot, ResourceAmount.of(30, 30, 80)));
+        assertEquals(ResourceAmount.of(20, 0, 0), engine.getResources(slot).getAmount());
+    }
+
+    @Test
+    void amountsSaturateInsteadOfWrapping() {
+        Resources resources = new Resources(Integer.MAX_VALUE - 5, 0, 0, 100, 100, 100);
+        resources.add(ResourceAmount.of(1_000, 0, 0));
+        assertEquals(Integer.MAX_VALUE, resources.getStone());
+
+        resources.increaseMaxCapacity(ResourceAmount.of(Integer.MAX_VALUE, 0, 0));
+        assertEquals(Integer.MAX_VALUE, resources.getMaxStone());
+        resources.addWithLimit(1_000, 0, 0);
+        assertEquals(Integer.MAX_VALUE, resources.getStone());
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() throws Exception {
+        EconomyEngine engine = new EconomyEngine();
+        int start = 1_000;
+        int slot = engine.addVillage(DifficultyLevel.NORMAL, start, start, start,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        engine.setLevel(slot, BuildingType.STONE_MINE, 1);
+        int daily = engine.getDailyProduction(slot).getStone();
+        ResourceAmount credit = ResourceAmount.of(7, 7, 7);
+        ResourceAmount cost = ResourceAmount.of(11, 11, 11);
+        int threads = 8;
+        int rounds = 20_000;
+        AtomicLong debits = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    engine.getResources(slot).credit(credit);
+                    if (engine.getResources(slot).tryDebit(cost)) {
+                        debits.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        // The daily tick runs alongside
+        tasks.add(pool.submit(() -> {
+            for (int day = 0; day < 1_000; day++) {
+                engine.collectAll(false);
+            }
+        }));
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        long credited = (long) threads * rounds * 7;
+        long debited = debits.get() * 11;
+        Resources resources = engine.getResources(slot);
+        assertEquals(start + credited + 1_000L * daily - debited, resources.getStone());
+        assertEquals(start + credited - debited, resources.getWood());
+        assertEquals(start + credited - debited, resources.getGold());
+    }
+}
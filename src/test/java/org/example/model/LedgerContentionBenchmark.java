@@ -0,0 +1,110 @@
+package org.example.model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Contended ledger updates: every thread alternates a capped credit and a
+// tryDebit on a village shared with the other threads, on the CAS cells of
+// EconomyEngine and on a plain ledger guarded by synchronized as the baseline.
+// 'villages' spreads the threads over that many villages; with 1 they all hit
+// the same cells.
+// Run the main method on the test classpath; JMH options are passed through.
+// Without -t it runs once per thread count from 1 to 64.
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LedgerContentionBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final ResourceAmount CREDIT = ResourceAmount.of(30, 20, 10);
+    private static final ResourceAmount COST = ResourceAmount.of(30, 20, 10);
+    private static final int START = 500_000;
+    private static final int LIMIT = 1_000_000;
+
+    @Param({"1", "64"})
+    private int villages;
+
+    private EconomyEngine engine;
+    private SynchronizedLedger[] ledgers;
+
+    // The ledger as plain ints, every method synchronized
+    private static final class SynchronizedLedger {
+        private int stone = START, wood = START, gold = START;
+
+        synchronized void addWithLimit(ResourceAmount amount) {
+            stone = Math.min(stone + amount.getStone(), LIMIT);
+            wood = Math.min(wood + amount.getWood(), LIMIT);
+            gold = Math.min(gold + amount.getGold(), LIMIT);
+        }
+
+        synchronized boolean tryDebit(ResourceAmount cost) {
+            if (stone < cost.getStone() || wood < cost.getWood() || gold < cost.getGold()) {
+                return false;
+            }
+            stone -= cost.getStone();
+            wood -= cost.getWood();
+            gold -= cost.getGold();
+            return true;
+        }
+    }
+
+    // Which village a thread uses, and whether it credits or debits next
+    @State(Scope.Thread)
+    public static class Caller {
+        int slot;
+        boolean debit;
+
+        @Setup
+        public void setUp(LedgerContentionBenchmark benchmark, ThreadParams threads) {
+            slot = threads.getThreadIndex() % benchmark.villages;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        engine = new EconomyEngine(villages);
+        ledgers = new SynchronizedLedger[villages];
+        for (int v = 0; v < villages; v++) {
+            engine.addVillage(DifficultyLevel.NORMAL, START, START, START, LIMIT, LIMIT, LIMIT);
+            ledgers[v] = new SynchronizedLedger();
+        }
+    }
+
+    @Benchmark
+    public boolean cas(Caller caller) {
+        caller.debit = !caller.debit;
+        if (caller.debit) {
+            return engine.tryDebit(caller.slot, COST);
+        }
+        engine.addWithLimit(caller.slot, CREDIT.getStone(), CREDIT.getWood(), CREDIT.getGold());
+        return true;
+    }
+
+    @Benchmark
+    public boolean synchronizedLedger(Caller caller) {
+        caller.debit = !caller.debit;
+        if (caller.debit) {
+            return ledgers[caller.slot].tryDebit(COST);
+        }
+        ledgers[caller.slot].addWithLimit(CREDIT);
+        return true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        int[] threadCounts = options.getThreads().hasValue() ? new int[] {options.getThreads().get()} : THREAD_COUNTS;
+        for (int threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .include(LedgerContentionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ResourceAmountTest {
+    @Test
+    void emptyAmountsAreShared() {
+        assertSame(ResourceAmount.ZERO, ResourceAmount.of(0, 0, 0));
+        assertSame(ResourceAmount.ZERO, ResourceAmount.of(5, 3, 1).minus(ResourceAmount.of(5, 3, 1)));
+        assertSame(ResourceAmount.ZERO, ResourceAmount.of(5, 3, 1).times(0));
+        assertTrue(ResourceAmount.ZERO.isZero());
+        assertFalse(ResourceAmount.of(0, 0, 1).isZero());
+    }
+
+    @Test
+    void arithmeticIsPartByPart() {
+        ResourceAmount a = ResourceAmount.of(10, 20, 30);
+        ResourceAmount b = ResourceAmount.of(1, 25, 3);
+
+        assertEquals(ResourceAmount.of(11, 45, 33), a.plus(b));
+        assertEquals(ResourceAmount.of(9, -5, 27), a.minus(b));
+        assertEquals(ResourceAmount.of(30, 60, 90), a.times(3));
+        assertEquals(ResourceAmount.of(3, 6, 9), a.times(0.3));
+        assertEquals(ResourceAmount.of(1, 20, 3), a.min(b));
+        assertEquals(ResourceAmount.of(10, 20, 30).hashCode(), a.hashCode());
+        assertFalse(a.covers(b));
+        assertTrue(a.plus(b).covers(b));
+    }
+
+    @Test
+    void amountsHoldFullInts() {
+        // Conquest loot can pass 2^21 per resource
+        ResourceAmount loot = ResourceAmount.of(3_000_000, 1 << 24, Integer.MAX_VALUE);
+        assertEquals(3_000_000, loot.getStone());
+        assertEquals(1 << 24, loot.getWood());
+        assertEquals(Integer.MAX_VALUE, loot.getGold());
+    }
+
+    @Test
+    void ledgerAppliesAmounts() {
+        Resources resources = new Resources(100, 100, 100, 150, 150, 150);
+
+        resources.addWithLimit(ResourceAmount.of(80, 10, 0));
+        assertEquals(ResourceAmount.of(150, 110, 100), resources.getAmount());
+
+        // Conquest ignores the storage limit
+        resources.add(ResourceAmount.of(0, 0, 500));
+        assertEquals(600, resources.getGold());
+
+        assertTrue(resources.hasEnough(ResourceAmount.of(150, 110, 600)));
+        resources.subtract(ResourceAmount.of(50, 10, 100));
+        assertEquals(ResourceAmount.of(100, 100, 500), resources.getAmount());
+
+        resources.increaseMaxCapacity(BuildingType.SILO.getStorageIncrease(1));
+        assertTrue(resources.getMaxStone() > 150);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class UnitCountsTest {
+    private static UnitCounts of(int soldiers, int archers, int knights) {
+        UnitCounts counts = new UnitCounts();
+        counts.set(UnitType.HUMAN_SOLDIER, soldiers);
+        counts.set(UnitType.HUMAN_ARCHER, archers);
+        counts.set(UnitType.HUMAN_KNIGHT, knights);
+        return counts;
+    }
+
+    @Test
+    void arithmeticWorksInPlace() {
+        UnitCounts counts = of(10, 4, 2);
+        counts.add(of(1, 1, 1));
+        counts.subtract(of(3, 0, 2));
+        counts.add(UnitType.ELF_MAGE, 5);
+
+        assertEquals(8, counts.get(UnitType.HUMAN_SOLDIER));
+        assertEquals(5, counts.get(UnitType.HUMAN_ARCHER));
+        assertEquals(1, counts.get(UnitType.HUMAN_KNIGHT));
+        assertEquals(5, counts.getAt(UnitType.ELF_MAGE.ordinal()));
+        assertEquals(19, counts.total());
+    }
+
+    @Test
+    void lossesRoundLikeTheCombatFormulas() {
+        UnitCounts counts = of(10, 3, 1);
+        counts.applyLosses(0.5);
+        // (int)(count * factor) units are lost per type
+        assertEquals(5, counts.get(UnitType.HUMAN_SOLDIER));
+        assertEquals(2, counts.get(UnitType.HUMAN_ARCHER));
+        assertEquals(1, counts.get(UnitType.HUMAN_KNIGHT));
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        UnitCounts original = of(3, 2, 1);
+        UnitCounts copy = new UnitCounts(original);
+        copy.set(UnitType.HUMAN_SOLDIER, 99);
+        assertEquals(3, original.get(UnitType.HUMAN_SOLDIER));
+
+        copy.copyFrom(original);
+        assertEquals(3, copy.get(UnitType.HUMAN_SOLDIER));
+        copy.clear();
+        assertTrue(copy.isEmpty());
+        assertFalse(original.isEmpty());
+        assertEquals("Soldier=3, Archer=2, Knight=1", original.toString());
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Games running side by side, one per benchmark thread. Each operation is a
+// turn's worth of random draws (battle rolls, event checks), taken either from
+// the game's own GameRandom generator or from the shared Math.random, whose
+// single AtomicLong seed every game contends on.
+// Thread count is the number of parallel games; change it with -t.
+// Run the main method on the test classpath; JMH options are passed through.
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameRandomBenchmark {
+    private static final int DRAWS_PER_TURN = 16;
+
+    @State(Scope.Thread)
+    public static class Game {
+        RandomGenerator random;
+
+        @Setup
+        public void setUp() {
+            random = GameRandom.create(Thread.currentThread().threadId()).split();
+        }
+    }
+
+    @Benchmark
+    public double perGameGenerator(Game game) {
+        double sum = 0;
+        for (int i = 0; i < DRAWS_PER_TURN; i++) {
+            sum += game.random.nextDouble();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sharedMathRandom() {
+        double sum = 0;
+        for (int i = 0; i < DRAWS_PER_TURN; i++) {
+            sum += Math.random();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(GameRandomBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.random.RandomGenerator;
+import org.example.combat.BattleOdds;
+import org.example.combat.CombatManager;
+import org.example.map.GameMap;
+import org.example.map.MapConfig;
+import org.example.map.Territory;
+import org.example.model.DifficultyLevel;
+import org.example.model.Race;
+import org.example.model.UnitCounts;
+import org.example.model.UnitType;
+import org.junit.jupiter.api.Test;
+
+class GameRandomTest {
+    @Test
+    void sameSeedGivesSameSplits() {
+        RandomGenerator.SplittableGenerator first = GameRandom.create(2024L);
+        RandomGenerator.SplittableGenerator second = GameRandom.create(2024L);
+        RandomGenerator firstSplit = first.split();
+        RandomGenerator secondSplit = second.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+            assertEquals(firstSplit.nextLong(), secondSplit.nextLong());
+        }
+    }
+
+    @Test
+    void seededForecastsReplay() {
+        MapConfig config = new MapConfig(DifficultyLevel.NORMAL);
+        config.setSeed(5L);
+        Territory target = new GameMap(DifficultyLevel.NORMAL, config).getTerritoryById(9);
+        UnitCounts army = new UnitCounts();
+        army.set(UnitType.ELF_ARCHER, 12);
+
+        BattleOdds first = new CombatManager(GameRandom.create(7L)).estimateOdds(army, Race.ELF, target, 200_000);
+        BattleOdds second = new CombatManager(GameRandom.create(7L)).estimateOdds(army, Race.ELF, target, 200_000);
+        assertEquals(first.getWinProbability(), second.getWinProbability());
+    }
+}
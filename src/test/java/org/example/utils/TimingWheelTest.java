@@ -0,0 +1,71 @@
+package org.example.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    @Test
+    void itemsFireOnTheirDeadlineAcrossLevels() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1_000);
+        SplittableRandom random = new SplittableRandom(11);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        List<TimingWheel.Entry<Integer>> entries = new ArrayList<>();
+
+        // Deadlines around every level boundary, random ones, and past ones
+        long[] deltas = {-5, 0, 1, 63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 262_145};
+        int id = 0;
+        for (long delta : deltas) {
+            deadlines.put(id, 1_000 + delta);
+            entries.add(wheel.schedule(id++, 1_000 + delta));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1_000 + random.nextLong(300_000);
+            deadlines.put(id, deadline);
+            entries.add(wheel.schedule(id++, deadline));
+        }
+
+        // Cancel every tenth item
+        for (int i = 0; i < entries.size(); i += 10) {
+            assertTrue(wheel.cancel(entries.get(i)));
+            assertFalse(wheel.cancel(entries.get(i)));
+            deadlines.remove(entries.get(i).getItem());
+        }
+        assertEquals(deadlines.size(), wheel.size());
+
+        // Advance in uneven steps; each item must come out on its own tick
+        Map<Integer, Long> fired = new HashMap<>();
+        while (wheel.getNow() < 302_000) {
+            wheel.advanceTo(wheel.getNow() + 1 + random.nextInt(5_000), item -> {
+                assertNull(fired.put(item, wheel.getNow()));
+            });
+        }
+        for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+            long expected = Math.max(entry.getValue(), 1_001);
+            assertEquals(expected, fired.get(entry.getKey()), "item " + entry.getKey());
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void farItemsWaitInTheTopLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        long far = (1L << 24) + 12_345;  // Beyond the 64^4 ticks the levels cover
+        TimingWheel.Entry<String> entry = wheel.schedule("far", far);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(far - 1, item -> fired.add(wheel.getNow()));
+        assertTrue(fired.isEmpty());
+        assertTrue(entry.isScheduled());
+
+        wheel.advanceTo(far, item -> fired.add(wheel.getNow()));
+        assertEquals(List.of(far), fired);
+        assertFalse(entry.isScheduled());
+    }
+}